@@ -0,0 +1,64 @@
+// k6 load test for comparing platform-thread and virtual-thread execution.
+//
+// Start the application once per mode, with throttling off so the cost budget does not reject the load:
+//   mvn spring-boot:run -Dspring-boot.run.arguments=--banking.graphql.cost.throttle.points-per-second=0
+//   mvn -Pjava21 spring-boot:run -Dspring-boot.run.arguments="--banking.threads.virtual.enabled=true --banking.graphql.cost.throttle.points-per-second=0"
+// then run:
+//   k6 run load-test/graphql-p99.js
+// and compare the p(99) of http_req_duration between the two runs. VUS and BASE_URL can be
+// overridden with -e VUS=... -e BASE_URL=...
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '5000', 10);
+
+export const options = {
+    scenarios: {
+        concurrent_clients: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const DASHBOARD = `
+query Dashboard($accountNumber: String!, $customerId: ID!) {
+    getBalance(accountNumber: $accountNumber)
+    transactionHistory(accountNumber: $accountNumber, first: 10) {
+        edges { node { transactionId type amount timestamp } }
+    }
+    getAccountsByCustomerId(customerId: $customerId) { accountNumber balance status }
+}`;
+
+function graphql(query, variables) {
+    return http.post(`${BASE_URL}/graphql`, JSON.stringify({ query, variables }), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+}
+
+export function setup() {
+    const response = graphql('{ accounts(first: 100) { edges { node { accountNumber customer { id } } } } }', {});
+    const edges = response.json('data.accounts.edges');
+    if (!edges || edges.length === 0) {
+        throw new Error('No accounts found; start the application with sample data');
+    }
+    return edges.map((edge) => ({ accountNumber: edge.node.accountNumber, customerId: edge.node.customer.id }));
+}
+
+export default function (accounts) {
+    const account = accounts[Math.floor(Math.random() * accounts.length)];
+    const response = graphql(DASHBOARD, account);
+    check(response, {
+        'status is 200': (r) => r.status === 200,
+        'no errors': (r) => !r.json('errors'),
+    });
+}
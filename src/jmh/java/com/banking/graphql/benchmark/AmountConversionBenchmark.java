@@ -0,0 +1,79 @@
+package com.banking.graphql.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The amount conversions done per field by the resolvers: GraphQL {@code Float} input to
+ * {@code BigDecimal} ({@code BigDecimal.valueOf(((Number) input.get("amount")).doubleValue())}) and
+ * {@code BigDecimal} balances back to {@code Double}, next to the alternatives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountConversionBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final Object[] inputs = new Object[SIZE];
+    private final BigDecimal[] balances = new BigDecimal[SIZE];
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            long cents = random.nextLong(1, 100_000_000L);
+            // Variables arrive as Double
+            inputs[i] = cents / 100.0;
+            balances[i] = BigDecimal.valueOf(cents, 2);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public BigDecimal inputViaValueOf() {
+        return BigDecimal.valueOf(((Number) inputs[next()]).doubleValue());
+    }
+
+    @Benchmark
+    public BigDecimal inputViaValueOfScaled() {
+        return BigDecimal.valueOf(((Number) inputs[next()]).doubleValue()).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public BigDecimal inputViaExactDouble() {
+        return new BigDecimal(((Number) inputs[next()]).doubleValue());
+    }
+
+    @Benchmark
+    public double outputDoubleValue() {
+        return balances[next()].doubleValue();
+    }
+
+    @Benchmark
+    public String outputPlainString() {
+        return balances[next()].toPlainString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.banking.graphql.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end execution of the nested queries from QUERIES.md through {@link ExecutionGraphQlService}:
+ * parsing (cached), validation, cost analysis, resolvers, DataLoaders and the database, without
+ * HTTP. Each call picks a random seeded customer or account.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GraphQlExecutionBenchmark {
+
+    static final String COMPLETE_CUSTOMER_PROFILE = """
+            query CompleteCustomerProfile($id: ID!) {
+              getCustomerById(id: $id) {
+                id name email phone address
+                accounts {
+                  accountNumber accountType balance status createdAt
+                  transactions { transactionId type amount description timestamp balanceAfter }
+                }
+              }
+            }
+            """;
+
+    static final String ACCOUNT_SUMMARY = """
+            query AccountSummary($accountNumber: String!) {
+              getAccountByNumber(accountNumber: $accountNumber) {
+                accountNumber accountType balance status
+                customer { name email }
+              }
+              transactionHistory(accountNumber: $accountNumber, first: 20) {
+                edges { node { transactionId type amount description timestamp } }
+                pageInfo { hasNextPage endCursor }
+              }
+            }
+            """;
+
+    static final String CUSTOMERS_PAGE = """
+            query CustomersPage {
+              customers(first: 20) {
+                edges { node { name email accounts { accountNumber balance } } }
+                pageInfo { hasNextPage endCursor }
+              }
+            }
+            """;
+
+    @State(Scope.Benchmark)
+    public static class Execution {
+        ExecutionGraphQlService graphQlService;
+        Long[] customerIds;
+        String[] accountNumbers;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededBank bank) {
+            graphQlService = bank.bean(ExecutionGraphQlService.class);
+            customerIds = bank.customerIds;
+            accountNumbers = bank.accountNumbers;
+            // Fail fast instead of measuring error responses
+            execute(COMPLETE_CUSTOMER_PROFILE, Map.of("id", customerIds[0]));
+            execute(ACCOUNT_SUMMARY, Map.of("accountNumber", accountNumbers[0]));
+            execute(CUSTOMERS_PAGE, Map.of());
+        }
+
+        ExecutionGraphQlResponse execute(String document, Map<String, Object> variables) {
+            ExecutionGraphQlResponse response = graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                    document, null, variables, null, UUID.randomUUID().toString(), null)).block();
+            if (response == null || !response.isValid() || !response.getErrors().isEmpty()) {
+                throw new IllegalStateException("Benchmark query failed: "
+                        + (response != null ? response.getErrors() : "no response"));
+            }
+            return response;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public Object completeCustomerProfile(Execution execution, Picker picker) {
+        Long id = execution.customerIds[picker.random.nextInt(execution.customerIds.length)];
+        return execution.execute(COMPLETE_CUSTOMER_PROFILE, Map.of("id", id)).getData();
+    }
+
+    @Benchmark
+    public Object accountSummary(Execution execution, Picker picker) {
+        String accountNumber = execution.accountNumbers[picker.random.nextInt(execution.accountNumbers.length)];
+        return execution.execute(ACCOUNT_SUMMARY, Map.of("accountNumber", accountNumber)).getData();
+    }
+
+    @Benchmark
+    public Object customersPage(Execution execution) {
+        return execution.execute(CUSTOMERS_PAGE, Map.of()).getData();
+    }
+}
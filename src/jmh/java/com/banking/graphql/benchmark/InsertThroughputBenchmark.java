@@ -0,0 +1,178 @@
+package com.banking.graphql.benchmark;
+
+import com.banking.graphql.BankingGraphQLApplication;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Insert throughput with pooled-sequence ids against the IDENTITY ids they replaced. With
+ * {@code ids=identity} the application starts with {@code META-INF/identity-ids-orm.xml}, which maps
+ * the customer, account and transaction ids back to IDENTITY columns; compare the two values of each
+ * benchmark.
+ *
+ * {@code transfer} and {@code onboarding} (the customer, account and deposit sequence of
+ * DataInitializer) go through the services. {@code jdbcRows} inserts blocks of
+ * {@value #ALLOCATION_SIZE} rows into a scratch table: through an IDENTITY column one round trip per
+ * row, since every generated key is read back, or with ids from a sequence sent as one JDBC batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertThroughputBenchmark {
+
+    private static final int ACCOUNTS = 100;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"pooled", "identity"})
+        public String ids;
+
+        ConfigurableApplicationContext context;
+        CustomerService customerService;
+        AccountService accountService;
+        TransactionService transactionService;
+        JdbcTemplate jdbcTemplate;
+        String[] accountNumbers;
+        final AtomicLong customers = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() {
+            List<String> args = new ArrayList<>(List.of(
+                    "--spring.main.web-application-type=none",
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:inserts-" + ids,
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.banking.graphql=WARN",
+                    "--logging.level.org.springframework.graphql=WARN"));
+            if (ids.equals("identity")) {
+                args.add("--spring.jpa.mapping-resources=META-INF/identity-ids-orm.xml");
+            }
+            context = SpringApplication.run(BankingGraphQLApplication.class, args.toArray(String[]::new));
+            customerService = context.getBean(CustomerService.class);
+            accountService = context.getBean(AccountService.class);
+            transactionService = context.getBean(TransactionService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+            checkIdStrategy();
+
+            if (ids.equals("identity")) {
+                jdbcTemplate.execute("CREATE TABLE bench_rows (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, payload VARCHAR(64))");
+            } else {
+                jdbcTemplate.execute("CREATE TABLE bench_rows (id BIGINT PRIMARY KEY, payload VARCHAR(64))");
+                jdbcTemplate.execute("CREATE SEQUENCE bench_rows_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+            }
+
+            accountNumbers = new String[ACCOUNTS];
+            for (int i = 0; i < ACCOUNTS; i++) {
+                accountNumbers[i] = onboard().getAccountNumber();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        Account onboard() {
+            long n = customers.incrementAndGet();
+            Customer customer = customerService.createCustomer("Customer " + n,
+                    "customer" + n + "@inserts.example.com", "+1000000000", n + " Insert Street");
+            Account account = accountService.createAccount(customer.getId(), AccountType.CHECKING,
+                    new BigDecimal("1000.00"));
+            transactionService.deposit(account.getAccountNumber(), new BigDecimal("10.00"), "Opening deposit");
+            return account;
+        }
+
+        // A mapping that silently kept the sequences would make the baseline meaningless
+        private void checkIdStrategy() {
+            Integer identityColumns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_NAME IN ('CUSTOMERS', 'ACCOUNTS', 'TRANSACTIONS') AND COLUMN_NAME = 'ID' "
+                    + "AND IS_IDENTITY = 'YES'", Integer.class);
+            int expected = ids.equals("identity") ? 3 : 0;
+            if (identityColumns == null || identityColumns != expected) {
+                throw new IllegalStateException("Expected " + expected + " IDENTITY id columns with ids=" + ids
+                        + " but found " + identityColumns);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+        final SplittableRandom random = new SplittableRandom();
+        long rows;
+    }
+
+    @Benchmark
+    public List<Transaction> transfer(Application application, Picker picker) {
+        int from = picker.random.nextInt(ACCOUNTS);
+        int to = (from + 1 + picker.random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return application.transactionService.transfer(application.accountNumbers[from],
+                application.accountNumbers[to], AMOUNT, "Benchmark transfer");
+    }
+
+    @Benchmark
+    public Account onboarding(Application application) {
+        return application.onboard();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ALLOCATION_SIZE)
+    public void jdbcRows(Application application, Picker picker) {
+        JdbcTemplate jdbcTemplate = application.jdbcTemplate;
+        if (application.ids.equals("identity")) {
+            for (int i = 0; i < ALLOCATION_SIZE; i++) {
+                String payload = "row-" + picker.rows++;
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "INSERT INTO bench_rows (payload) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+                    statement.setString(1, payload);
+                    return statement;
+                }, new GeneratedKeyHolder());
+            }
+            return;
+        }
+        long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR bench_rows_seq", Long.class);
+        List<Object[]> rows = new ArrayList<>(ALLOCATION_SIZE);
+        for (int i = 0; i < ALLOCATION_SIZE; i++) {
+            rows.add(new Object[] {first + i, "row-" + picker.rows++});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bench_rows (id, payload) VALUES (?, ?)", rows);
+    }
+}
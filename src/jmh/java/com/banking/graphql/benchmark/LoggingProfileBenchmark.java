@@ -0,0 +1,120 @@
+package com.banking.graphql.benchmark;
+
+import com.banking.graphql.BankingGraphQLApplication;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of logging on the request path: the same deposit and GraphQL query with the default
+ * configuration (show-sql, DEBUG for the application and Spring GraphQL, synchronous console
+ * output) and with the {@code prod} profile (sampled and slow SQL only, INFO, async JSON).
+ *
+ * Unlike the other suites the application keeps its configured log levels, so the default run
+ * prints every statement; the forked JVM's output is piped to the JMH console as it would be to a
+ * log collector. Compare the two {@code profile} values of each benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class LoggingProfileBenchmark {
+
+    private static final int CUSTOMERS = 100;
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"default", "prod"})
+        public String profile;
+
+        ConfigurableApplicationContext context;
+        TransactionService transactionService;
+        ExecutionGraphQlService graphQlService;
+        String[] accountNumbers;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = SpringApplication.run(BankingGraphQLApplication.class,
+                    "--spring.profiles.active=" + profile,
+                    "--spring.main.web-application-type=none",
+                    "--spring.main.banner-mode=off",
+                    "--spring.datasource.url=jdbc:h2:mem:logging-" + profile,
+                    "--banking.graphql.cost.throttle.points-per-second=0");
+            transactionService = context.getBean(TransactionService.class);
+            graphQlService = context.getBean(ExecutionGraphQlService.class);
+
+            CustomerService customerService = context.getBean(CustomerService.class);
+            AccountService accountService = context.getBean(AccountService.class);
+            accountNumbers = new String[CUSTOMERS];
+            for (int c = 0; c < CUSTOMERS; c++) {
+                Customer customer = customerService.createCustomer("Customer " + c,
+                        "customer" + c + "@logging.example.com", "+1000000000", c + " Logging Street");
+                Account account = accountService.createAccount(customer.getId(), AccountType.CHECKING,
+                        new BigDecimal("10000.00"));
+                accountNumbers[c] = account.getAccountNumber();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Picker {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public Transaction deposit(Application application, Picker picker) {
+        String accountNumber = application.accountNumbers[picker.random.nextInt(application.accountNumbers.length)];
+        return application.transactionService.deposit(accountNumber, AMOUNT, "Benchmark deposit");
+    }
+
+    @Benchmark
+    public Object accountSummary(Application application, Picker picker) {
+        String accountNumber = application.accountNumbers[picker.random.nextInt(application.accountNumbers.length)];
+        ExecutionGraphQlResponse response = application.graphQlService.execute(new DefaultExecutionGraphQlRequest(
+                GraphQlExecutionBenchmark.ACCOUNT_SUMMARY, null, Map.of("accountNumber", accountNumber), null,
+                UUID.randomUUID().toString(), null)).block();
+        if (response == null || !response.getErrors().isEmpty()) {
+            throw new IllegalStateException("Benchmark query failed: "
+                    + (response != null ? response.getErrors() : "no response"));
+        }
+        return response.getData();
+    }
+}
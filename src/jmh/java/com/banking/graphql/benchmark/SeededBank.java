@@ -0,0 +1,111 @@
+package com.banking.graphql.benchmark;
+
+import com.banking.graphql.BankingGraphQLApplication;
+import com.banking.graphql.dto.DepositRequest;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.BatchTransactionService;
+import com.banking.graphql.service.CustomerService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The application, without the web server, on a fresh in-memory database seeded with
+ * {@code customers} customers, {@code accountsPerCustomer} accounts each and
+ * {@code transactionsPerAccount} deposits per account. Seeding goes through the services, so
+ * snapshots, outbox rows and caches look the way they do in production. The data is the same on
+ * every run.
+ */
+@State(Scope.Benchmark)
+public class SeededBank {
+
+    private static final int SEED = 42;
+    private static final int DEPOSITS_PER_BATCH = 5_000;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("10000.00");
+
+    @Param("1000")
+    public int customers;
+
+    @Param("2")
+    public int accountsPerCustomer;
+
+    @Param("50")
+    public int transactionsPerAccount;
+
+    public ConfigurableApplicationContext context;
+    public Long[] customerIds;
+    public String[] accountNumbers;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line arguments, so they take precedence over application.properties
+        context = SpringApplication.run(BankingGraphQLApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.banking.graphql=WARN",
+                "--logging.level.org.springframework.graphql=WARN",
+                "--banking.graphql.cost.throttle.points-per-second=0");
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        CustomerService customerService = bean(CustomerService.class);
+        AccountService accountService = bean(AccountService.class);
+        BatchTransactionService batchTransactionService = bean(BatchTransactionService.class);
+        AccountType[] accountTypes = AccountType.values();
+        Random random = new Random(SEED);
+
+        customerIds = new Long[customers];
+        accountNumbers = new String[customers * accountsPerCustomer];
+        for (int c = 0; c < customers; c++) {
+            Customer customer = customerService.createCustomer("Customer " + c,
+                    "customer" + c + "@benchmark.example.com", "+1000000000", c + " Benchmark Street");
+            customerIds[c] = customer.getId();
+            for (int a = 0; a < accountsPerCustomer; a++) {
+                Account account = accountService.createAccount(customer.getId(),
+                        accountTypes[(c + a) % accountTypes.length], OPENING_BALANCE);
+                accountNumbers[c * accountsPerCustomer + a] = account.getAccountNumber();
+            }
+        }
+
+        List<DepositRequest> batch = new ArrayList<>(DEPOSITS_PER_BATCH);
+        for (int t = 0; t < transactionsPerAccount; t++) {
+            for (String accountNumber : accountNumbers) {
+                BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+                batch.add(new DepositRequest(accountNumber, amount, "Seeded deposit"));
+                if (batch.size() == DEPOSITS_PER_BATCH) {
+                    batchTransactionService.batchDeposit(batch, true);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchTransactionService.batchDeposit(batch, true);
+        }
+    }
+}
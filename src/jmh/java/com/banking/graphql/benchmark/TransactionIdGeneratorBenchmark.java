@@ -0,0 +1,53 @@
+package com.banking.graphql.benchmark;
+
+import com.banking.graphql.service.TransactionIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction ID generation: the former UUID-substring method against {@link TransactionIdGenerator},
+ * single-threaded and contended. Add {@code -prof gc} to the JMH arguments for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionIdGeneratorBenchmark {
+
+    private final TransactionIdGenerator generator = new TransactionIdGenerator(1);
+
+    @Benchmark
+    public String uuidSubstring() {
+        return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidSubstringContended() {
+        return uuidSubstring();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedContended() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,103 @@
+package com.banking.graphql.benchmark;
+
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of deposit, withdraw and transfer against a seeded database. The plain methods run on
+ * one thread and spread over all accounts; the {@code hotAccount} variants run eight threads on the
+ * same account, which is where the concurrency mode and write combining matter. Other thread
+ * counts: {@code -Djmh.args="-t 4"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Benchmark)
+    public static class Services {
+        TransactionService transactionService;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededBank bank) {
+            transactionService = bank.bean(TransactionService.class);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Accounts {
+        private final SplittableRandom random = new SplittableRandom();
+        private String[] accountNumbers;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededBank bank) {
+            accountNumbers = bank.accountNumbers;
+        }
+
+        String any() {
+            return accountNumbers[random.nextInt(accountNumbers.length)];
+        }
+
+        String otherThan(String accountNumber) {
+            String other;
+            do {
+                other = any();
+            } while (other.equals(accountNumber));
+            return other;
+        }
+
+        String hot() {
+            return accountNumbers[0];
+        }
+    }
+
+    @Benchmark
+    public Transaction deposit(Services services, Accounts accounts) {
+        return services.transactionService.deposit(accounts.any(), AMOUNT, "Benchmark deposit");
+    }
+
+    @Benchmark
+    public Transaction withdraw(Services services, Accounts accounts) {
+        return services.transactionService.withdraw(accounts.any(), AMOUNT, "Benchmark withdrawal");
+    }
+
+    @Benchmark
+    public List<Transaction> transfer(Services services, Accounts accounts) {
+        String from = accounts.any();
+        return services.transactionService.transfer(from, accounts.otherThan(from), AMOUNT, "Benchmark transfer");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Transaction depositHotAccount(Services services, Accounts accounts) {
+        return services.transactionService.deposit(accounts.hot(), AMOUNT, "Benchmark deposit");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Transaction> transferFromHotAccount(Services services, Accounts accounts) {
+        String from = accounts.hot();
+        return services.transactionService.transfer(from, accounts.otherThan(from), AMOUNT, "Benchmark transfer");
+    }
+}
@@ -0,0 +1,66 @@
+package com.banking.graphql.config;
+
+import com.banking.graphql.execution.RequestMetrics;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.TransactionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Registers the DataLoaders behind the nested schema fields (Customer.accounts, Account.customer,
+ * Account.transactions). Each loader collects the parent IDs of one execution level and resolves
+ * them with a single IN query, so nested queries cost one SQL round trip per level.
+ *
+ * Loaders are keyed by entity ID rather than by entity, since the Lombok-generated equals/hashCode
+ * of the entities would walk lazy associations when the DataLoader caches its keys.
+ *
+ * Batches are loaded on the {@code graphQlExecutor} when one is configured, so loaders dispatched
+ * together query the database concurrently; otherwise they run on the calling thread. Either way
+ * their statements are counted in the {@link RequestMetrics} of the request that dispatched them.
+ */
+@Configuration
+public class DataLoaderConfig {
+
+    public static final String ACCOUNTS_BY_CUSTOMER_ID = "accountsByCustomerId";
+    public static final String CUSTOMER_BY_ID = "customerById";
+    public static final String TRANSACTIONS_BY_ACCOUNT_ID = "transactionsByAccountId";
+
+    public DataLoaderConfig(BatchLoaderRegistry registry,
+                            CustomerService customerService,
+                            AccountService accountService,
+                            TransactionService transactionService,
+                            @Qualifier(GraphQlExecutionConfig.GRAPHQL_EXECUTOR) ObjectProvider<Executor> executor) {
+        Executor fetchExecutor = executor.getIfAvailable();
+        Scheduler scheduler = fetchExecutor != null ? Schedulers.fromExecutor(fetchExecutor) : Schedulers.immediate();
+
+        registry.<Long, List<Account>>forName(ACCOUNTS_BY_CUSTOMER_ID)
+                .registerMappedBatchLoader((customerIds, env) ->
+                        Mono.fromCallable(RequestMetrics.propagate(env.getContext(),
+                                        () -> accountService.getAccountsByCustomerIds(customerIds)))
+                                .subscribeOn(scheduler));
+
+        registry.<Long, Customer>forName(CUSTOMER_BY_ID)
+                .registerMappedBatchLoader((customerIds, env) ->
+                        Mono.fromCallable(RequestMetrics.propagate(env.getContext(),
+                                        () -> customerService.getCustomersByIds(customerIds)))
+                                .subscribeOn(scheduler));
+
+        registry.<Long, List<Transaction>>forName(TRANSACTIONS_BY_ACCOUNT_ID)
+                .registerMappedBatchLoader((accountIds, env) ->
+                        Mono.fromCallable(RequestMetrics.propagate(env.getContext(),
+                                        () -> transactionService.getTransactionsByAccountIds(accountIds)))
+                                .subscribeOn(scheduler));
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.graphql.config;
+
+import com.banking.graphql.execution.PersistedQueryDocumentProvider;
+import com.banking.graphql.execution.RequestMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Hooks the persisted-query and parsed-document cache into the GraphQL engine behind
+ * Spring GraphQL's ExecutionGraphQlService.
+ *
+ * Asynchronous data fetching (the DataLoaders and resolvers returning a CompletableFuture) runs on
+ * the {@value #GRAPHQL_EXECUTOR} executor: a bounded platform thread pool by default, or bounded
+ * virtual threads in the virtual-thread mode. That mode needs a build with the {@code java21}
+ * profile; turning it on in any other build stops the application at startup.
+ */
+@Configuration
+public class GraphQlExecutionConfig {
+
+    public static final String GRAPHQL_EXECUTOR = "graphQlExecutor";
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(PersistedQueryDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    @Bean(name = GRAPHQL_EXECUTOR)
+    @ConditionalOnProperty(name = "banking.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor graphQlExecutor(@Value("${banking.graphql.executor.pool-size:8}") int poolSize,
+                                                  @Value("${banking.graphql.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("graphql-fetch-");
+        // When pool and queue are full, fetch on the request thread instead of failing the field
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Attribute the SQL of asynchronous fetches to the request that started them
+        executor.setTaskDecorator(RequestMetrics::propagate);
+        return executor;
+    }
+
+    /**
+     * Without it, a build lacking {@code VirtualThreadConfig} would start with no {@value #GRAPHQL_EXECUTOR}
+     * at all when the virtual-thread mode is on.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "banking.threads.virtual.enabled", havingValue = "true")
+    @ConditionalOnMissingClass("com.banking.graphql.config.VirtualThreadConfig")
+    static class VirtualThreadsUnavailable {
+
+        VirtualThreadsUnavailable() {
+            throw new IllegalStateException("banking.threads.virtual.enabled=true needs virtual-thread support, "
+                    + "which this build does not include: build with -Pjava21 on JDK 21, "
+                    + "or set banking.threads.virtual.enabled=false");
+        }
+    }
+}
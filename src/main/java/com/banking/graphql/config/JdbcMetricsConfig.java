@@ -0,0 +1,164 @@
+package com.banking.graphql.config;
+
+import com.banking.graphql.execution.RequestMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement execution. The DataSource is wrapped so that the statements created
+ * by its connections record each {@code execute*} call, a JDBC batch counting as one round trip, in
+ * the {@code banking.jdbc.statements} timer and in the {@link RequestMetrics} of the GraphQL request
+ * running on the thread, if any.
+ *
+ * The same timing drives SQL logging on the {@code com.banking.graphql.sql} logger, as a cheaper
+ * alternative to {@code spring.jpa.show-sql}: statements slower than {@code banking.sql-log.slow-threshold}
+ * are logged at WARN, and a random {@code banking.sql-log.sample-rate} fraction of the others at INFO.
+ *
+ * The wrapper is a {@link DelegatingDataSource}, so the Hikari pool metrics still find the pool.
+ */
+@Configuration
+public class JdbcMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor statementMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${banking.sql-log.sample-rate:0}") double sampleRate,
+            @Value("${banking.sql-log.slow-threshold:500ms}") Duration slowThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementMetricsDataSource)) {
+                    return new StatementMetricsDataSource(dataSource, meterRegistry, sampleRate, slowThreshold);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Slf4j(topic = "com.banking.graphql.sql")
+    public static class StatementMetricsDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final double sampleRate;
+        private final long slowThresholdNanos;
+        private volatile Timer timer;
+
+        public StatementMetricsDataSource(DataSource target, ObjectProvider<MeterRegistry> meterRegistry,
+                                          double sampleRate, Duration slowThreshold) {
+            super(target);
+            this.meterRegistry = meterRegistry;
+            this.sampleRate = sampleRate;
+            this.slowThresholdNanos = slowThreshold.toNanos();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (isIdentityMethod(method)) {
+                            return identity(proxy, method, args);
+                        }
+                        Object result = invoke(connection, method, args);
+                        // createStatement, prepareStatement and prepareCall; the latter two take the SQL up front
+                        if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                            String preparedSql = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[] {method.getReturnType()}, timing(statement, preparedSql));
+                        }
+                        return result;
+                    });
+        }
+
+        private InvocationHandler timing(Statement statement, String preparedSql) {
+            return (proxy, method, args) -> {
+                if (isIdentityMethod(method)) {
+                    return identity(proxy, method, args);
+                }
+                if (!method.getName().startsWith("execute")) {
+                    return invoke(statement, method, args);
+                }
+                long start = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    long nanos = System.nanoTime() - start;
+                    record(nanos);
+                    logStatement(nanos, preparedSql != null ? preparedSql : args != null && args.length > 0 ? args[0] : null);
+                }
+            };
+        }
+
+        private void record(long nanos) {
+            RequestMetrics metrics = RequestMetrics.current();
+            if (metrics != null) {
+                metrics.recordStatement(nanos);
+            }
+            Timer statements = timer;
+            if (statements == null) {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry == null) {
+                    return;
+                }
+                statements = Timer.builder("banking.jdbc.statements")
+                        .description("JDBC statement executions")
+                        .register(registry);
+                timer = statements;
+            }
+            statements.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void logStatement(long nanos, Object sql) {
+            if (nanos >= slowThresholdNanos) {
+                log.warn("Slow SQL ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+            } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+                log.info("Sampled SQL ({} us): {}", TimeUnit.NANOSECONDS.toMicros(nanos), sql);
+            }
+        }
+
+        private static boolean isIdentityMethod(Method method) {
+            return method.getDeclaringClass() == Object.class
+                    && (method.getName().equals("equals") || method.getName().equals("hashCode"));
+        }
+
+        // Proxies compare by identity, so Spring still recognizes a transaction's connection as the same one
+        private static Object identity(Object proxy, Method method, Object[] args) {
+            return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
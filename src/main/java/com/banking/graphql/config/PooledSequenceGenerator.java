@@ -0,0 +1,34 @@
+package com.banking.graphql.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence-backed ID generator using Hibernate's pooled optimizer, whose allocation size is read
+ * from the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting (set through
+ * {@code spring.jpa.properties.banking.id.allocation_size}) instead of being fixed in the mapping.
+ *
+ * Unlike IDENTITY columns, sequence IDs are known before the INSERT is executed, which is what
+ * allows Hibernate to send inserts as JDBC batches. One sequence round trip is needed per
+ * allocation-size inserts.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "banking.id.allocation_size";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .get(ALLOCATION_SIZE_SETTING);
+        if (allocationSize != null) {
+            parameters.setProperty(INCREMENT_PARAM, allocationSize.toString());
+        }
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,339 @@
+package com.banking.graphql.config;
+
+import com.banking.graphql.model.AccountStatus;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.service.AccountNumberGenerator;
+import com.banking.graphql.service.TransactionIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-loads a production-sized dataset with {@code banking.seed.mode=synthetic}, in place of the
+ * sample data of {@link DataInitializer}.
+ *
+ * Rows are written with batched JDBC, bypassing JPA, by one task per chunk of customers running
+ * in parallel. Every customer and account draws from its own random generator derived from
+ * {@code banking.seed.synthetic.seed} and its id, so the dataset does not depend on chunk size,
+ * thread count or scheduling: the same seed always produces the same rows, with dates relative to
+ * the day of the load.
+ *
+ * A {@code hot-account-fraction} of the accounts receives {@code hot-transaction-share} of the
+ * transactions; the rest is spread evenly over the other accounts. Each account gets deposits and
+ * withdrawals spread over {@code history-days}, consistent {@code balance_after} values and daily
+ * balance snapshots. Transfers are not generated, and no outbox events are written for the
+ * history. Ids and transaction IDs are assigned here, and the id sequences are moved past them at
+ * the end, so the load must run before anything else writes to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.seed.mode", havingValue = "synthetic")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (id, name, email, phone, address) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO accounts (id, account_number, account_type, balance, created_at, status, version, event_sequence, customer_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 0, 0, ?)";
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (id, transaction_id, type, amount, timestamp, description, balance_after, account_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO balance_snapshots (id, account_id, snapshot_date, opening_balance, closing_balance, "
+                    + "credit_total, debit_total, credit_count, debit_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${banking.seed.synthetic.customers:100000}")
+    private int customers;
+
+    @Value("${banking.seed.synthetic.accounts-per-customer:3}")
+    private int accountsPerCustomer;
+
+    @Value("${banking.seed.synthetic.transactions:10000000}")
+    private long transactions;
+
+    @Value("${banking.seed.synthetic.hot-account-fraction:0.01}")
+    private double hotAccountFraction;
+
+    @Value("${banking.seed.synthetic.hot-transaction-share:0.5}")
+    private double hotTransactionShare;
+
+    @Value("${banking.seed.synthetic.history-days:365}")
+    private int historyDays;
+
+    @Value("${banking.seed.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${banking.seed.synthetic.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${banking.seed.synthetic.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${banking.seed.synthetic.threads:0}")
+    private int threads;
+
+    @Value("${spring.jpa.properties.banking.id.allocation_size:50}")
+    private int idAllocationSize;
+
+    private long hotPerAccount;
+    private long coldPerAccount;
+    private LocalDateTime historyStart;
+    private LocalDateTime historyEnd;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long totalAccounts = (long) customers * accountsPerCustomer;
+        log.info("Seeding {} customers, {} accounts and about {} transactions (seed {})",
+                customers, totalAccounts, transactions, seed);
+        long start = System.nanoTime();
+
+        long hotAccounts = 0;
+        for (long account = 1; account <= totalAccounts; account++) {
+            if (isHot(account)) {
+                hotAccounts++;
+            }
+        }
+        long hotTransactions = Math.round(transactions * hotTransactionShare);
+        hotPerAccount = hotAccounts > 0 ? hotTransactions / hotAccounts : 0;
+        coldPerAccount = totalAccounts > hotAccounts
+                ? (transactions - hotPerAccount * hotAccounts) / (totalAccounts - hotAccounts) : 0;
+        historyEnd = LocalDate.now().atStartOfDay();
+        historyStart = historyEnd.minusDays(historyDays);
+
+        // Transaction and snapshot ids of each chunk start after everything written by earlier chunks
+        int chunks = (customers + chunkSize - 1) / chunkSize;
+        long[] firstTransactionId = new long[chunks];
+        long[] firstSnapshotId = new long[chunks];
+        long nextTransactionId = 1;
+        long nextSnapshotId = 1;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            firstTransactionId[chunk] = nextTransactionId;
+            firstSnapshotId[chunk] = nextSnapshotId;
+            for (long account = firstAccount(chunk); account < firstAccount(chunk + 1) && account <= totalAccounts; account++) {
+                long count = transactionCount(account);
+                nextTransactionId += count;
+                // At most one snapshot per posting plus the opening one
+                nextSnapshotId += count + 1;
+            }
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int current = chunk;
+                futures.add(pool.submit(() -> seedChunk(current, firstTransactionId[current], firstSnapshotId[current])));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        restartSequence("customers_seq", customers);
+        restartSequence("accounts_seq", totalAccounts);
+        restartSequence("transactions_seq", nextTransactionId - 1);
+        restartSequence("balance_snapshots_seq", nextSnapshotId - 1);
+        long blocks = (totalAccounts + AccountNumberGenerator.BLOCK_SIZE - 1) / AccountNumberGenerator.BLOCK_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + AccountNumberGenerator.SEQUENCE
+                + " RESTART WITH " + blocks * AccountNumberGenerator.BLOCK_SIZE);
+
+        log.info("Seeded {} transactions on {} hot and {} other accounts in {} s using {} threads",
+                nextTransactionId - 1, hotAccounts, totalAccounts - hotAccounts,
+                (System.nanoTime() - start) / 1_000_000_000, poolSize);
+    }
+
+    private void seedChunk(int chunk, long firstTransactionId, long firstSnapshotId) {
+        ChunkWriter writer = new ChunkWriter();
+        long transactionId = firstTransactionId;
+        long snapshotId = firstSnapshotId;
+
+        long lastCustomer = Math.min(customers, (long) (chunk + 1) * chunkSize);
+        for (long customer = (long) chunk * chunkSize + 1; customer <= lastCustomer; customer++) {
+            // Negative keys keep customer streams apart from account streams
+            SplittableRandom random = new SplittableRandom(mix(seed, -customer));
+            writer.customerRows.add(customer, "Customer " + customer, "customer" + customer + "@synthetic.example.com",
+                    String.format("+1%010d", random.nextLong(10_000_000_000L)), customer + " Synthetic Street");
+
+            for (long account = (customer - 1) * accountsPerCustomer + 1; account <= customer * accountsPerCustomer; account++) {
+                long count = transactionCount(account);
+                transactionId = seedAccount(writer, account, customer, count, transactionId, snapshotId);
+                snapshotId += count + 1;
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes one account with its history and returns the next free transaction id.
+     */
+    private long seedAccount(ChunkWriter writer, long account, long customer, long count,
+                             long transactionId, long snapshotId) {
+        SplittableRandom random = new SplittableRandom(mix(seed, account));
+        LocalDateTime createdAt = historyStart.plusSeconds(random.nextLong(SECONDS_PER_DAY));
+        AccountType type = ACCOUNT_TYPES[random.nextInt(ACCOUNT_TYPES.length)];
+        long openingCents = random.nextLong(1_000_000);
+        long balanceCents = openingCents;
+
+        // The account row carries the final balance but must be written before its postings
+        List<Object[]> postings = new ArrayList<>((int) count);
+        List<Object[]> snapshots = new ArrayList<>();
+        Snapshot day = new Snapshot(createdAt.toLocalDate(), openingCents);
+        LocalDateTime lastTimestamp = historyEnd.minusSeconds(1);
+        long step = Math.max(1, Duration.between(createdAt, historyEnd).getSeconds() / (count + 1));
+        for (long i = 0; i < count; i++) {
+            LocalDateTime timestamp = createdAt.plusSeconds((i + 1) * step + random.nextLong(step));
+            if (timestamp.isAfter(lastTimestamp)) {
+                timestamp = lastTimestamp;
+            }
+            if (!timestamp.toLocalDate().equals(day.date)) {
+                snapshots.add(day.row(snapshotId++, account));
+                day = new Snapshot(timestamp.toLocalDate(), balanceCents);
+            }
+
+            long amountCents = 100 + random.nextLong(200_000);
+            boolean withdrawal = random.nextInt(10) < 4 && balanceCents >= amountCents;
+            balanceCents += withdrawal ? -amountCents : amountCents;
+            day.record(withdrawal, amountCents, balanceCents);
+
+            postings.add(new Object[] {transactionId, TransactionIdGenerator.format(transactionId),
+                    (withdrawal ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT).name(), cents(amountCents),
+                    timestamp, withdrawal ? "Synthetic withdrawal" : "Synthetic deposit", cents(balanceCents), account});
+            transactionId++;
+        }
+        snapshots.add(day.row(snapshotId, account));
+
+        writer.accountRows.add(account, AccountNumberGenerator.accountNumber(account - 1), type.name(),
+                cents(balanceCents), createdAt, AccountStatus.ACTIVE.ordinal(), customer);
+        postings.forEach(writer.transactionRows::add);
+        snapshots.forEach(writer.snapshotRows::add);
+        return transactionId;
+    }
+
+    private long transactionCount(long account) {
+        return isHot(account) ? hotPerAccount : coldPerAccount;
+    }
+
+    private boolean isHot(long account) {
+        // Top 53 bits as a uniform fraction in [0, 1)
+        return (mix(~seed, account) >>> 11) * 0x1.0p-53 < hotAccountFraction;
+    }
+
+    private long firstAccount(int chunk) {
+        return (long) chunk * chunkSize * accountsPerCustomer + 1;
+    }
+
+    private void restartSequence(String sequence, long maxId) {
+        // The pooled optimizer reads a sequence value V as the end of the block [V - size + 1, V]
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + idAllocationSize));
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // SplitMix64 finalizer over seed and key: independent, well-spread streams per row
+    private static long mix(long seed, long key) {
+        long z = seed + key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Snapshot {
+        private final LocalDate date;
+        private final long openingCents;
+        private long closingCents;
+        private long creditCents;
+        private long debitCents;
+        private int creditCount;
+        private int debitCount;
+
+        private Snapshot(LocalDate date, long openingCents) {
+            this.date = date;
+            this.openingCents = openingCents;
+            this.closingCents = openingCents;
+        }
+
+        private void record(boolean debit, long amountCents, long balanceAfterCents) {
+            if (debit) {
+                debitCents += amountCents;
+                debitCount++;
+            } else {
+                creditCents += amountCents;
+                creditCount++;
+            }
+            closingCents = balanceAfterCents;
+        }
+
+        private Object[] row(long id, long account) {
+            return new Object[] {id, account, date, cents(openingCents), cents(closingCents),
+                    cents(creditCents), cents(debitCents), creditCount, debitCount};
+        }
+    }
+
+    /**
+     * Buffers the rows of one chunk and writes them in batches, parents before children so the
+     * foreign keys always resolve.
+     */
+    private final class ChunkWriter {
+        private final Batch customerRows = new Batch(INSERT_CUSTOMER);
+        private final Batch accountRows = new Batch(INSERT_ACCOUNT);
+        private final Batch transactionRows = new Batch(INSERT_TRANSACTION);
+        private final Batch snapshotRows = new Batch(INSERT_SNAPSHOT);
+
+        private void flush() {
+            customerRows.write();
+            accountRows.write();
+            transactionRows.write();
+            snapshotRows.write();
+        }
+
+        private final class Batch {
+            private final String sql;
+            private final List<Object[]> rows = new ArrayList<>();
+
+            private Batch(String sql) {
+                this.sql = sql;
+            }
+
+            private void add(Object... row) {
+                rows.add(row);
+                if (rows.size() >= batchSize) {
+                    ChunkWriter.this.flush();
+                }
+            }
+
+            private void write() {
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(sql, rows);
+                    rows.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.banking.graphql.controller;
+
+import com.banking.graphql.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToLongFunction;
+
+/**
+ * Streams full-table exports as CSV. The body is written while the rows are read, so the
+ * response never has to be held in memory.
+ */
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ExportService exportService;
+
+    @GetMapping("/customers")
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        return csv("customers.csv", exportService::exportCustomers);
+    }
+
+    @GetMapping("/accounts")
+    public ResponseEntity<StreamingResponseBody> exportAccounts() {
+        return csv("accounts.csv", exportService::exportAccounts);
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(String fileName, ToLongFunction<Writer> export) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            export.applyAsLong(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
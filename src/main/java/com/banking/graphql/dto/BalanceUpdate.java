@@ -0,0 +1,17 @@
+package com.banking.graphql.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the {@code balanceChanged} subscription: the balance right after the given posting.
+ */
+@Value
+public class BalanceUpdate {
+    String accountNumber;
+    BigDecimal balance;
+    String transactionId;
+    LocalDateTime timestamp;
+}
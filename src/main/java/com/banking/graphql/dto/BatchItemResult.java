@@ -0,0 +1,25 @@
+package com.banking.graphql.dto;
+
+import com.banking.graphql.model.Transaction;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a batch mutation; {@code index} is the item's position in the input list.
+ */
+@Value
+public class BatchItemResult {
+    int index;
+    boolean success;
+    List<Transaction> transactions;
+    String error;
+
+    public static BatchItemResult succeeded(int index, List<Transaction> transactions) {
+        return new BatchItemResult(index, true, transactions, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, false, List.of(), error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.banking.graphql.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BatchResult {
+    /** Whether any item was written; false when an atomic batch was rejected. */
+    boolean committed;
+    int succeeded;
+    int failed;
+    List<BatchItemResult> items;
+
+    public static BatchResult of(boolean committed, List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchResult(committed, succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,12 @@
+package com.banking.graphql.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class DepositRequest {
+    String accountNumber;
+    BigDecimal amount;
+    String description;
+}
@@ -0,0 +1,13 @@
+package com.banking.graphql.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class TransferRequest {
+    String fromAccountNumber;
+    String toAccountNumber;
+    BigDecimal amount;
+    String description;
+}
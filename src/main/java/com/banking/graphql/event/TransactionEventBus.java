@@ -0,0 +1,63 @@
+package com.banking.graphql.event;
+
+import com.banking.graphql.dto.BalanceUpdate;
+import com.banking.graphql.model.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * In-process fan-out of committed postings to GraphQL subscriptions.
+ *
+ * Postings are emitted only after their transaction commits, so a subscriber never sees a deposit
+ * that was rolled back. The sink itself holds nothing: a subscriber that is not ready gets nothing
+ * from it. Each subscription therefore brings its own bounded buffer. {@code transactionPosted}
+ * keeps the newest {@code buffer-size} postings and drops the oldest once a client falls behind;
+ * {@code balanceChanged} keeps only the latest balance, since an intermediate one is worthless
+ * once a newer one exists. A slow client costs at most one buffer of memory and never slows
+ * the writers or other subscribers.
+ */
+@Slf4j
+@Component
+public class TransactionEventBus {
+
+    private final Sinks.Many<TransactionsPostedEvent.Posted> sink = Sinks.many().multicast().directBestEffort();
+
+    @Value("${banking.subscriptions.buffer-size:256}")
+    private int bufferSize;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionsPosted(TransactionsPostedEvent event) {
+        // Postings commit on many threads, but a sink accepts one emitter at a time
+        synchronized (sink) {
+            for (TransactionsPostedEvent.Posted posted : event.postings()) {
+                sink.tryEmitNext(posted);
+            }
+        }
+    }
+
+    public Flux<Transaction> transactionsPosted(String accountNumber) {
+        return postingsFor(accountNumber)
+                .map(TransactionsPostedEvent.Posted::transaction)
+                .onBackpressureBuffer(bufferSize,
+                        dropped -> log.debug("Dropped posting {} for a slow transactionPosted subscriber",
+                                dropped.getTransactionId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    public Flux<BalanceUpdate> balanceChanged(String accountNumber) {
+        return postingsFor(accountNumber)
+                .map(posted -> new BalanceUpdate(accountNumber, posted.transaction().getBalanceAfter(),
+                        posted.transaction().getTransactionId(), posted.transaction().getTimestamp()))
+                .onBackpressureLatest();
+    }
+
+    private Flux<TransactionsPostedEvent.Posted> postingsFor(String accountNumber) {
+        return sink.asFlux().filter(posted -> posted.accountNumber().equals(accountNumber));
+    }
+}
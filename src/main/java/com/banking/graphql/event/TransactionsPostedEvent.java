@@ -0,0 +1,16 @@
+package com.banking.graphql.event;
+
+import com.banking.graphql.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Published by {@code TransactionPostingService} for every group of postings it saves. The account
+ * number is captured while the posting's Account is still attached, so listeners running after
+ * commit never touch a lazy association.
+ */
+public record TransactionsPostedEvent(List<Posted> postings) {
+
+    public record Posted(String accountNumber, Transaction transaction) {
+    }
+}
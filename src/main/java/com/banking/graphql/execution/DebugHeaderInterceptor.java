@@ -0,0 +1,37 @@
+package com.banking.graphql.execution;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Marks HTTP requests that carry the debug header ({@code X-GraphQL-Debug: true} by default) so
+ * that {@link ExecutionMetricsInstrumentation} returns their timings under {@code extensions.timing}.
+ * Disabled with {@code banking.graphql.metrics.debug-header.enabled=false}.
+ */
+@Component
+public class DebugHeaderInterceptor implements WebGraphQlInterceptor {
+
+    private final boolean enabled;
+    private final String headerName;
+
+    public DebugHeaderInterceptor(@Value("${banking.graphql.metrics.debug-header.enabled:true}") boolean enabled,
+                                  @Value("${banking.graphql.metrics.debug-header.name:X-GraphQL-Debug}") String headerName) {
+        this.enabled = enabled;
+        this.headerName = headerName;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (enabled && "true".equalsIgnoreCase(request.getHeaders().getFirst(headerName))) {
+            request.configureExecutionInput((input, builder) ->
+                    builder.graphQLContext(Map.of(ExecutionMetricsInstrumentation.DEBUG, true)).build());
+        }
+        return chain.next(request);
+    }
+}
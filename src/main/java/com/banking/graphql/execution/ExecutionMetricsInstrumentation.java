@@ -0,0 +1,183 @@
+package com.banking.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every non-trivial data fetcher and counts the JDBC statements of each request.
+ *
+ * Metrics, exported through Actuator:
+ * <ul>
+ *   <li>{@code banking.graphql.field}: fetch time per field, tagged {@code parent} and {@code field}.
+ *   Asynchronous fetchers are timed until their result completes, so DataLoader fields include the
+ *   wait for their batch.</li>
+ *   <li>{@code banking.graphql.request.sql.statements} and {@code banking.graphql.request.sql.time}:
+ *   JDBC statements per request and their total time, tagged {@code operation} (query, mutation,
+ *   subscription).</li>
+ * </ul>
+ * Timers publish fixed-bucket percentile histograms when {@code percentile-histogram} is on, which
+ * costs a bucket increment per recording and no allocation.
+ *
+ * Property fetchers (plain getters) are not timed. A request marked by {@link DebugHeaderInterceptor}
+ * also gets the per-field times and SQL counts under {@code extensions.timing}.
+ */
+@Component
+public class ExecutionMetricsInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * GraphQLContext key that turns on the {@code extensions.timing} output for one request.
+     */
+    public static final String DEBUG = ExecutionMetricsInstrumentation.class.getName() + ".debug";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean percentileHistogram;
+    private final Map<String, Timer> fieldTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Timer> statementTimers = new ConcurrentHashMap<>();
+
+    public ExecutionMetricsInstrumentation(MeterRegistry meterRegistry,
+                                           @Value("${banking.graphql.metrics.percentile-histogram:true}") boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        GraphQLContext context = parameters.getExecutionInput().getGraphQLContext();
+        RequestMetrics metrics = new RequestMetrics(Boolean.TRUE.equals(context.get(DEBUG)));
+        // DataLoader batches are dispatched outside the fetchers; their loaders bind the metrics from here
+        context.put(RequestMetrics.CONTEXT_KEY, metrics);
+        return new MetricsState(metrics);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        if (state instanceof MetricsState metricsState) {
+            metricsState.operation = parameters.getExecutionContext().getOperationDefinition()
+                    .getOperation().name().toLowerCase(Locale.ROOT);
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+                                                InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher() || !(state instanceof MetricsState metricsState)) {
+            return dataFetcher;
+        }
+        RequestMetrics metrics = metricsState.metrics;
+        String parent = parameters.getExecutionStepInfo().getObjectType().getName();
+        String field = parameters.getExecutionStepInfo().getFieldDefinition().getName();
+
+        return environment -> {
+            long start = System.nanoTime();
+            RequestMetrics previous = RequestMetrics.bind(metrics);
+            Object result;
+            try {
+                result = dataFetcher.get(environment);
+            } catch (Exception ex) {
+                recordField(metrics, parent, field, start);
+                throw ex;
+            } finally {
+                RequestMetrics.restore(previous);
+            }
+            if (result instanceof CompletionStage<?> stage) {
+                return stage.whenComplete((value, error) -> recordField(metrics, parent, field, start));
+            }
+            recordField(metrics, parent, field, start);
+            return result;
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (!(state instanceof MetricsState metricsState)) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        RequestMetrics metrics = metricsState.metrics;
+        String operation = metricsState.operation;
+        statementSummaries.computeIfAbsent(operation, key -> DistributionSummary
+                        .builder("banking.graphql.request.sql.statements")
+                        .description("JDBC statements per GraphQL request")
+                        .tag("operation", key)
+                        .publishPercentileHistogram(percentileHistogram)
+                        .register(meterRegistry))
+                .record(metrics.statementCount());
+        statementTimers.computeIfAbsent(operation, key -> timer("banking.graphql.request.sql.time",
+                        "Time spent in JDBC statements per GraphQL request")
+                        .tag("operation", key)
+                        .register(meterRegistry))
+                .record(metrics.statementNanos(), TimeUnit.NANOSECONDS);
+
+        if (!metrics.collectsFields()) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        Map<String, Object> sql = new LinkedHashMap<>();
+        sql.put("statements", metrics.statementCount());
+        sql.put("timeMs", RequestMetrics.millis(metrics.statementNanos()));
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("durationMs", RequestMetrics.millis(metrics.elapsedNanos()));
+        timing.put("sql", sql);
+        timing.put("fields", metrics.fieldsAsMap());
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+                .from(executionResult)
+                .addExtension("timing", timing)
+                .build());
+    }
+
+    private void recordField(RequestMetrics metrics, String parent, String field, long start) {
+        long nanos = System.nanoTime() - start;
+        String name = parent + "." + field;
+        fieldTimers.computeIfAbsent(name, key -> timer("banking.graphql.field", "GraphQL field fetch time")
+                        .tag("parent", parent)
+                        .tag("field", field)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        metrics.recordField(name, nanos);
+    }
+
+    private Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(30));
+    }
+
+    private static final class MetricsState implements InstrumentationState {
+        private final RequestMetrics metrics;
+        // Unknown when the document failed to parse or validate
+        private volatile String operation = "unknown";
+
+        private MetricsState(RequestMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+}
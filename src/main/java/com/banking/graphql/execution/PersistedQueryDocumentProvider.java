@@ -0,0 +1,144 @@
+package com.banking.graphql.execution;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Automatic Persisted Queries plus a cache of parsed and validated documents.
+ *
+ * A request carrying {@code extensions.persistedQuery.sha256Hash} may omit the query text once the
+ * server has seen it: the first request sends both, the hash is checked and remembered, and later
+ * requests send only the hash. An unknown hash answers with a {@code PersistedQueryNotFound} error,
+ * which tells Apollo-style clients to retry with the full query.
+ *
+ * Independently of APQ, every successfully parsed and validated document is kept in a bounded LRU
+ * keyed by its query text, so a repeated query skips parsing and validation. Documents with errors
+ * are not cached.
+ */
+@Component
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+
+    static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    static final String SHA256_HASH = "sha256Hash";
+
+    private final Cache<String, String> persistedQueries;
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    public PersistedQueryDocumentProvider(MeterRegistry meterRegistry,
+                                          @Value("${banking.graphql.persisted-queries.max-size:10000}") long maxPersistedQueries,
+                                          @Value("${banking.graphql.document-cache.max-size:1000}") long maxDocuments) {
+        this.persistedQueries = Caffeine.newBuilder()
+                .maximumSize(maxPersistedQueries)
+                .recordStats()
+                .build();
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxDocuments)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, persistedQueries, "graphqlPersistedQueries");
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphqlDocuments");
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(document(executionInput, parseAndValidateFunction));
+    }
+
+    /**
+     * @deprecated graphql-java only calls {@link #getDocumentAsync}; 20.x still declares this method abstract.
+     */
+    @Override
+    @Deprecated
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return document(executionInput, parseAndValidateFunction);
+    }
+
+    private PreparsedDocumentEntry document(ExecutionInput executionInput,
+                                            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String hash = persistedQueryHash(executionInput);
+        if (hash == null) {
+            return cachedDocument(executionInput, parseAndValidateFunction);
+        }
+
+        String query = executionInput.getQuery();
+        if (!StringUtils.hasText(query)) {
+            query = persistedQueries.getIfPresent(hash);
+            if (query == null) {
+                return rejected(new PersistedQueryNotFound(hash));
+            }
+            String persistedQuery = query;
+            executionInput = executionInput.transform(builder -> builder.query(persistedQuery));
+        } else if (!hash.equals(sha256(query))) {
+            return rejected(new PersistedQueryIdInvalid(hash));
+        }
+
+        PreparsedDocumentEntry entry = cachedDocument(executionInput, parseAndValidateFunction);
+        // Only remember hashes of queries that actually parse and validate
+        if (!entry.hasErrors()) {
+            persistedQueries.put(hash, query);
+        }
+        return entry;
+    }
+
+    // The message is the classification name ("PersistedQueryNotFound"), which is what APQ clients look for
+    private static PreparsedDocumentEntry rejected(PersistedQueryError error) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .message(error.getMessage())
+                .errorType(error)
+                .build());
+    }
+
+    private PreparsedDocumentEntry cachedDocument(ExecutionInput executionInput,
+                                                  Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = documents.getIfPresent(query);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                documents.put(query, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static String persistedQueryHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions == null || !(extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery)) {
+            return null;
+        }
+        return persistedQuery.get(SHA256_HASH) instanceof String hash && !hash.isEmpty()
+                ? hash.toLowerCase(Locale.ROOT) : null;
+    }
+
+    static String sha256(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.banking.graphql.execution;
+
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.CoercedVariables;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.util.TraversalControl;
+
+/**
+ * Static cost of a GraphQL operation, computed from the document before anything is executed.
+ *
+ * Every object-valued field costs {@code objectFieldCost} each time it is resolved; scalar and enum
+ * fields are free. A field is resolved once per item of every list above it. The {@code edges} of a
+ * Connection are sized by the {@code first} argument of the field returning the Connection; other
+ * lists by their own {@code first} argument, or {@code defaultListSize} when they are unpaginated,
+ * like {@code Customer.accounts}. Introspection fields are not counted.
+ */
+public class QueryCostAnalyzer {
+
+    public record QueryCost(long cost, int depth) {
+    }
+
+    private static final String PAGE_SIZE_ARGUMENT = "first";
+    private static final String CONNECTION_SUFFIX = "Connection";
+
+    private final long objectFieldCost;
+    private final long defaultListSize;
+
+    public QueryCostAnalyzer(long objectFieldCost, long defaultListSize) {
+        this.objectFieldCost = objectFieldCost;
+        this.defaultListSize = defaultListSize;
+    }
+
+    public QueryCost analyze(GraphQLSchema schema, Document document, String operationName,
+                             CoercedVariables variables) {
+        long[] cost = {0};
+        int[] depth = {0};
+
+        QueryTraverser.newQueryTraverser()
+                .schema(schema)
+                .document(document)
+                .operationName(operationName)
+                .coercedVariables(variables)
+                .build()
+                .visitPreOrder(new QueryVisitorStub() {
+                    @Override
+                    public TraversalControl visitFieldWithControl(QueryVisitorFieldEnvironment env) {
+                        if (env.getField().getName().startsWith("__")) {
+                            return TraversalControl.ABORT;
+                        }
+
+                        long resolutions = 1;
+                        int fieldDepth = 1;
+                        for (QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+                             parent != null; parent = parent.getParentEnvironment()) {
+                            resolutions = saturatedMultiply(resolutions, listSize(parent));
+                            fieldDepth++;
+                        }
+
+                        if (!GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(env.getFieldDefinition().getType()))) {
+                            cost[0] = saturatedAdd(cost[0], saturatedMultiply(resolutions, objectFieldCost));
+                        }
+                        depth[0] = Math.max(depth[0], fieldDepth);
+                        return TraversalControl.CONTINUE;
+                    }
+                });
+
+        return new QueryCost(cost[0], depth[0]);
+    }
+
+    private long listSize(QueryVisitorFieldEnvironment env) {
+        if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()))) {
+            return 1;
+        }
+        // The edges of a Connection are sized by the first argument of the field returning the Connection
+        QueryVisitorFieldEnvironment sizedBy = env.getFieldsContainer().getName().endsWith(CONNECTION_SUFFIX)
+                ? env.getParentEnvironment() : env;
+        if (sizedBy != null && sizedBy.getArguments().get(PAGE_SIZE_ARGUMENT) instanceof Integer first) {
+            return Math.max(first, 0);
+        }
+        return defaultListSize;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        if (a != 0 && b > Long.MAX_VALUE / a) {
+            return Long.MAX_VALUE;
+        }
+        return a * b;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
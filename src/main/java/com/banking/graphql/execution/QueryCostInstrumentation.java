@@ -0,0 +1,148 @@
+package com.banking.graphql.execution;
+
+import com.banking.graphql.execution.QueryCostAnalyzer.QueryCost;
+import graphql.ErrorType;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admission control based on {@link QueryCostAnalyzer}.
+ *
+ * The cost is computed once the operation is known and before any field is fetched, so it also
+ * applies to documents served from the parsed-document cache. Operations over {@code max-cost} or
+ * {@code max-depth} are rejected outright. Accepted operations draw their cost from a token bucket
+ * refilled at {@code throttle.points-per-second} (0 disables it); when the bucket runs dry,
+ * operations are rejected as throttled until it refills. The bucket holds at least {@code max-cost}
+ * points, so even with a lower rate every admissible operation eventually gets through. Every
+ * response reports the computed cost under {@code extensions.cost}.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private final QueryCostAnalyzer analyzer;
+    private final long maxCost;
+    private final int maxDepth;
+    private final TokenBucket throttle;
+
+    public QueryCostInstrumentation(@Value("${banking.graphql.cost.object-field-cost:1}") long objectFieldCost,
+                                    @Value("${banking.graphql.cost.default-list-size:20}") long defaultListSize,
+                                    @Value("${banking.graphql.cost.max-cost:5000}") long maxCost,
+                                    @Value("${banking.graphql.cost.max-depth:12}") int maxDepth,
+                                    @Value("${banking.graphql.cost.throttle.points-per-second:0}") long pointsPerSecond) {
+        this.analyzer = new QueryCostAnalyzer(objectFieldCost, defaultListSize);
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.throttle = pointsPerSecond > 0 ? new TokenBucket(Math.max(pointsPerSecond, maxCost), pointsPerSecond) : null;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new CostState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        QueryCost cost = analyzer.analyze(context.getGraphQLSchema(), context.getDocument(),
+                context.getOperationDefinition().getName(), context.getCoercedVariables());
+        if (state instanceof CostState costState) {
+            costState.cost = cost;
+        }
+
+        if (cost.depth() > maxDepth) {
+            throw reject("QUERY_TOO_DEEP", "Query depth " + cost.depth() + " exceeds the maximum of " + maxDepth);
+        }
+        if (cost.cost() > maxCost) {
+            throw reject("QUERY_TOO_COMPLEX", "Query cost " + cost.cost() + " exceeds the maximum of " + maxCost);
+        }
+        if (throttle != null && !throttle.tryAcquire(cost.cost())) {
+            throw reject("THROTTLED", "Query cost budget exhausted, retry later");
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        if (!(state instanceof CostState costState) || costState.cost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        Map<String, Object> cost = new LinkedHashMap<>();
+        cost.put("requestedQueryCost", costState.cost.cost());
+        cost.put("maximumAvailable", maxCost);
+        cost.put("depth", costState.cost.depth());
+        if (throttle != null) {
+            cost.put("throttleStatus", Map.of(
+                    "currentlyAvailable", throttle.available(),
+                    "restoreRate", throttle.pointsPerSecond));
+        }
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+                .from(executionResult)
+                .addExtension("cost", cost)
+                .build());
+    }
+
+    private static AbortExecutionException reject(String code, String message) {
+        return new AbortExecutionException(List.of(GraphqlErrorBuilder.newError()
+                .message(message)
+                .errorType(ErrorType.ExecutionAborted)
+                .extensions(Map.of("code", code))
+                .build()));
+    }
+
+    private static final class CostState implements InstrumentationState {
+        private volatile QueryCost cost;
+    }
+
+    private static final class TokenBucket {
+        private final long capacity;
+        private final long pointsPerSecond;
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(long capacity, long pointsPerSecond) {
+            this.capacity = capacity;
+            this.pointsPerSecond = pointsPerSecond;
+            this.available = capacity;
+        }
+
+        synchronized boolean tryAcquire(long points) {
+            refill();
+            if (points > available) {
+                return false;
+            }
+            available -= points;
+            return true;
+        }
+
+        synchronized long available() {
+            refill();
+            return (long) available;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - refilledAt) * pointsPerSecond / 1e9);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.banking.graphql.execution;
+
+import graphql.GraphQLContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request counters: JDBC statements and their time, plus per-field fetch times when the
+ * request asked for debug output.
+ *
+ * The request's metrics are bound to the current thread while one of its data fetchers runs, and
+ * carried to the {@code graphQlExecutor} threads by {@link #propagate(Runnable)}, so statements
+ * issued by asynchronous fetchers are attributed to the request. DataLoader batches are dispatched
+ * outside any fetcher, so batch loaders bind the metrics themselves from the request's
+ * GraphQLContext with {@link #propagate(GraphQLContext, Callable)}. Statements run on threads that
+ * were never bound (e.g. scheduled jobs) only show up in the global metrics.
+ */
+public final class RequestMetrics {
+
+    /**
+     * GraphQLContext key under which the request's metrics are kept.
+     */
+    static final String CONTEXT_KEY = RequestMetrics.class.getName();
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final Map<String, FieldTiming> fields;
+
+    RequestMetrics(boolean collectFields) {
+        this.fields = collectFields ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * The metrics bound to the current thread, or null outside a GraphQL request.
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code metrics} to the current thread and returns the previous binding for {@link #restore}.
+     */
+    static RequestMetrics bind(RequestMetrics metrics) {
+        RequestMetrics previous = CURRENT.get();
+        CURRENT.set(metrics);
+        return previous;
+    }
+
+    static void restore(RequestMetrics previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so it runs with the metrics bound to the submitting thread; usable as a TaskDecorator.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            RequestMetrics previous = bind(metrics);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so it runs with the metrics of the request owning {@code context} bound. For work a
+     * request triggers outside its data fetchers, such as DataLoader batch loads.
+     */
+    public static <T> Callable<T> propagate(GraphQLContext context, Callable<T> task) {
+        RequestMetrics metrics = context != null ? context.get(CONTEXT_KEY) : null;
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            RequestMetrics previous = bind(metrics);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public void recordStatement(long nanos) {
+        statements.increment();
+        statementNanos.add(nanos);
+    }
+
+    void recordField(String field, long nanos) {
+        if (fields != null) {
+            fields.computeIfAbsent(field, key -> new FieldTiming()).record(nanos);
+        }
+    }
+
+    long statementCount() {
+        return statements.sum();
+    }
+
+    long statementNanos() {
+        return statementNanos.sum();
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    boolean collectsFields() {
+        return fields != null;
+    }
+
+    Map<String, Object> fieldsAsMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        fields.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue().asMap()));
+        return result;
+    }
+
+    private static final class FieldTiming {
+        private final AtomicLong count = new AtomicLong();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Map<String, Object> asMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", count.get());
+            result.put("totalMs", millis(totalNanos.sum()));
+            result.put("maxMs", millis(maxNanos.get()));
+            return result;
+        }
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
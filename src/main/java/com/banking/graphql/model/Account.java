@@ -1,9 +1,15 @@
 package com.banking.graphql.model;
 
+import com.banking.graphql.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,13 +18,17 @@ import java.util.List;
 
 @Entity
 @Table(name = "accounts")
+// READ_WRITE soft-locks an entry while a balance update is in flight, so no reader sees a stale balance
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "accounts_seq")
+    @GenericGenerator(name = "accounts_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "accounts_seq"))
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -37,6 +47,15 @@ public class Account {
     @Column(nullable = false)
     private AccountStatus status;
 
+    // Guards balance read-modify-write against lost updates, see MoneyMovementExecutor
+    @Version
+    private Long version;
+
+    // Sequence of the latest outbox event about this account. Bumped in the same versioned update
+    // as the balance, so it increases in commit order even across nodes, see TransactionOutbox
+    @Column(nullable = false)
+    private long eventSequence;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
@@ -0,0 +1,69 @@
+package com.banking.graphql.model;
+
+import com.banking.graphql.config.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * End-of-day state of one account for one day with activity, maintained incrementally as
+ * transactions are posted. Days without a row had no activity: the balance carried over unchanged.
+ */
+@Entity
+@Table(name = "balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = BalanceSnapshot.ACCOUNT_DATE_KEY, columnNames = {"account_id", "snapshot_date"})
+})
+@Data
+@NoArgsConstructor
+public class BalanceSnapshot {
+
+    public static final String ACCOUNT_DATE_KEY = "uk_balance_snapshots_account_date";
+
+    @Id
+    @GeneratedValue(generator = "balance_snapshots_seq")
+    @GenericGenerator(name = "balance_snapshots_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "balance_snapshots_seq"))
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private int creditCount;
+
+    @Column(nullable = false)
+    private int debitCount;
+
+    public BalanceSnapshot(Account account, LocalDate snapshotDate, BigDecimal openingBalance) {
+        this.account = account;
+        this.snapshotDate = snapshotDate;
+        this.openingBalance = openingBalance;
+        this.closingBalance = openingBalance;
+    }
+
+    public BigDecimal getTurnover() {
+        return creditTotal.add(debitTotal);
+    }
+}
@@ -0,0 +1,58 @@
+package com.banking.graphql.model;
+
+import com.banking.graphql.config.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a money movement submitted with an idempotency key. Written in the movement's own
+ * transaction, so a key is recorded if and only if its postings were.
+ */
+@Entity
+@Table(name = "idempotency_records", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_records_key", columnNames = "idempotency_key")
+})
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(generator = "idempotency_records_seq")
+    @GenericGenerator(name = "idempotency_records_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "idempotency_records_seq"))
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    // Digest of the operation and its arguments; a key may not be reused for a different request
+    @Column(nullable = false)
+    private String requestFingerprint;
+
+    // Transaction IDs of the original result, comma separated, in result order
+    @Column(nullable = false)
+    private String transactionIds;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord(String idempotencyKey, String requestFingerprint, String transactionIds,
+                             LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestFingerprint = requestFingerprint;
+        this.transactionIds = transactionIds;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
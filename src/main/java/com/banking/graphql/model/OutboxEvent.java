@@ -0,0 +1,56 @@
+package com.banking.graphql.model;
+
+import com.banking.graphql.config.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be relayed to downstream systems. Written in the same transaction as the
+ * change it describes and deleted once the relay has handed it to the sink.
+ */
+@Entity
+// Serves the relay's lookup of events overtaken by a later event of the same account
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_aggregate_sequence",
+        columnList = "aggregateId, aggregateSequence"))
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(generator = "outbox_events_seq")
+    @GenericGenerator(name = "outbox_events_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "outbox_events_seq"))
+    private Long id;
+
+    // Account number; events of one aggregate are relayed in aggregateSequence order
+    @Column(nullable = false)
+    private String aggregateId;
+
+    // Position among the events of the aggregate, see Account.eventSequence. Ids come from per-node
+    // pooled blocks and need not increase in commit order
+    @Column(nullable = false)
+    private long aggregateSequence;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent(String aggregateId, long aggregateSequence, String eventType, String payload) {
+        this.aggregateId = aggregateId;
+        this.aggregateSequence = aggregateSequence;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
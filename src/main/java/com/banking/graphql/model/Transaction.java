@@ -1,22 +1,34 @@
 package com.banking.graphql.model;
 
+import com.banking.graphql.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+// Every finder in TransactionRepository filters on account_id first; see TransactionIndexUsageTest
+@Table(name = "transactions", indexes = {
+        // History, keyset pages and date ranges, newest first
+        @Index(name = "idx_transactions_account_timestamp", columnList = "account_id, timestamp DESC, id DESC"),
+        // Statements filtered by type, e.g. deposits only
+        @Index(name = "idx_transactions_account_type_timestamp", columnList = "account_id, type, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "transactions_seq")
+    @GenericGenerator(name = "transactions_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "transactions_seq"))
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -54,7 +66,8 @@ public class Transaction {
         this.transactionId = transactionId;
         this.type = type;
         this.amount = amount;
-        this.description = description;
+        // The column and the schema field are non-null; a posting without a description gets an empty one
+        this.description = description != null ? description : "";
         this.account = account;
         this.balanceAfter = balanceAfter;
         this.timestamp = LocalDateTime.now();
@@ -0,0 +1,53 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a file, one line per event: id, event type, aggregate id and JSON payload,
+ * tab separated. A batch is forced to disk before it is acknowledged.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    public FileOutboxSink(@Value("${banking.outbox.file.path:outbox-events.log}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                StringBuilder lines = new StringBuilder();
+                for (OutboxEvent event : events) {
+                    lines.append(event.getId()).append('\t')
+                            .append(event.getEventType()).append('\t')
+                            .append(event.getAggregateId()).append('\t')
+                            .append(event.getPayload()).append('\n');
+                }
+                channel.write(StandardCharsets.UTF_8.encode(lines.toString()));
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append outbox events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps relayed events in memory, for tests and local experiments.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<OutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
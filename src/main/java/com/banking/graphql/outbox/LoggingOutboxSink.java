@@ -0,0 +1,25 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink: writes every event to the application log.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "banking.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.debug("Outbox event {} {} for {}: {}", event.getId(), event.getEventType(),
+                    event.getAggregateId(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.model.OutboxEvent;
+import com.banking.graphql.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to the configured {@link OutboxSink}, oldest event first.
+ *
+ * Each round reads up to {@code batch-size} events, publishes them and deletes them only after the
+ * sink returned, so delivery is at-least-once: a crash or sink failure between the two steps
+ * re-sends the batch. A batch that fails is retried as a whole on the next poll and nothing behind
+ * it is published first. A partial batch is held back until its oldest event is {@code linger} old,
+ * trading a little latency for fuller batches.
+ *
+ * Every account's events are published in {@link OutboxEvent#getAggregateSequence() sequence} order,
+ * which is their commit order. Ids are not: each node draws them from its own pooled block, so with
+ * several nodes a later event of an account can have the lower id. A full batch therefore also takes
+ * the events of its accounts that such a later event overtook, and may exceed {@code batch-size}.
+ *
+ * Rows are not locked, so exactly one relay may run per database.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final int batchSize;
+    private final Duration linger;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       @Value("${banking.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${banking.outbox.relay.linger:50ms}") Duration linger) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.batchSize = batchSize;
+        this.linger = linger;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying on the next poll", e);
+        }
+    }
+
+    /**
+     * Publishes pending events until the outbox is empty or only a lingering partial batch is left.
+     *
+     * @return the number of events published
+     */
+    public synchronized int drain() {
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            boolean partial = batch.size() < batchSize;
+            if (batch.isEmpty() || (partial && isLingering(batch.get(0)))) {
+                return relayed;
+            }
+            // A partial batch holds every pending event, so nothing can have been overtaken
+            if (!partial) {
+                batch = withOvertaken(batch);
+            }
+
+            outboxSink.publish(batch);
+            outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+            relayed += batch.size();
+
+            if (partial) {
+                return relayed;
+            }
+        }
+    }
+
+    /**
+     * Adds the pending events that a later event of the same account overtook and hands each
+     * account's places in the batch to its events in sequence order.
+     */
+    private List<OutboxEvent> withOvertaken(List<OutboxEvent> page) {
+        Set<String> aggregateIds = page.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet());
+        List<OutboxEvent> batch = new ArrayList<>(page);
+        batch.addAll(outboxEventRepository.findOvertaken(aggregateIds, page.get(page.size() - 1).getId()));
+
+        Map<String, Queue<OutboxEvent>> bySequence = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            bySequence.computeIfAbsent(event.getAggregateId(),
+                    aggregateId -> new PriorityQueue<>(Comparator.comparingLong(OutboxEvent::getAggregateSequence)))
+                    .add(event);
+        }
+        batch.replaceAll(event -> bySequence.get(event.getAggregateId()).poll());
+        return batch;
+    }
+
+    private boolean isLingering(OutboxEvent oldest) {
+        return oldest.getCreatedAt().isAfter(LocalDateTime.now().minus(linger));
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events, selected with {@code banking.outbox.sink}.
+ *
+ * A batch is acknowledged by returning normally; throwing leaves the whole batch in the outbox to
+ * be offered again, so a sink may see an event more than once and should deduplicate on the
+ * event id if it cares. Events arrive in id order, which keeps each account's events in order.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
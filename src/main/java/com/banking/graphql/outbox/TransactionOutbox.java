@@ -0,0 +1,60 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.exception.BankingException;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.OutboxEvent;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes a {@value #TRANSACTION_POSTED} outbox event per posting. Must run inside the transaction
+ * that saves the postings, so the events exist if and only if the postings do.
+ *
+ * Each event takes the next {@link Account#getEventSequence() event sequence} of its account. The
+ * counter is written with the new balance under the account's {@code @Version}, so two nodes posting
+ * to the same account cannot both commit the same sequence, and the relay orders by it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionOutbox {
+
+    public static final String TRANSACTION_POSTED = "TransactionPosted";
+
+    /**
+     * JSON payload of a {@value #TRANSACTION_POSTED} event.
+     */
+    public record TransactionPosted(String transactionId, String accountNumber, TransactionType type,
+                                    BigDecimal amount, BigDecimal balanceAfter, LocalDateTime timestamp,
+                                    String description, String fromAccountNumber, String toAccountNumber) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void append(List<Transaction> postings) {
+        outboxEventRepository.saveAll(postings.stream().map(this::toEvent).toList());
+    }
+
+    private OutboxEvent toEvent(Transaction posting) {
+        Account account = posting.getAccount();
+        String accountNumber = account.getAccountNumber();
+        account.setEventSequence(account.getEventSequence() + 1);
+        TransactionPosted payload = new TransactionPosted(posting.getTransactionId(), accountNumber,
+                posting.getType(), posting.getAmount(), posting.getBalanceAfter(), posting.getTimestamp(),
+                posting.getDescription(), posting.getFromAccountNumber(), posting.getToAccountNumber());
+        try {
+            return new OutboxEvent(accountNumber, account.getEventSequence(), TRANSACTION_POSTED, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new BankingException("Could not serialize outbox event for " + posting.getTransactionId(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.graphql.pagination;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Relay-style connection returned by the paginated queries.
+ */
+@Value
+public class Connection<T> {
+    List<Edge<T>> edges;
+    PageInfo pageInfo;
+
+    /**
+     * Builds a page from the result of a keyset query that fetched {@code first + 1} rows;
+     * the extra row only signals that another page exists and is not returned.
+     */
+    public static <T> Connection<T> of(List<T> rows, int first, boolean hasPreviousPage,
+                                       Function<T, String> cursorOf) {
+        boolean hasNextPage = rows.size() > first;
+        List<Edge<T>> edges = rows.stream()
+                .limit(first)
+                .map(row -> new Edge<>(cursorOf.apply(row), row))
+                .toList();
+        String startCursor = edges.isEmpty() ? null : edges.get(0).getCursor();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        return new Connection<>(edges, new PageInfo(hasNextPage, hasPreviousPage, startCursor, endCursor));
+    }
+}
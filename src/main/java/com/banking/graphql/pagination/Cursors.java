@@ -0,0 +1,64 @@
+package com.banking.graphql.pagination;
+
+import com.banking.graphql.exception.BankingException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque cursors. A cursor is the URL-safe Base64 form of the
+ * sort key values of the last row of a page, joined with '|'.
+ */
+public final class Cursors {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keyCount) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\|", -1);
+            if (keys.length != keyCount) {
+                throw new BankingException("Invalid cursor: " + cursor);
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new BankingException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static long decodeId(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new BankingException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static int pageSize(Integer first) {
+        if (first == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (first < 1 || first > MAX_PAGE_SIZE) {
+            throw new BankingException("first must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return first;
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.graphql.pagination;
+
+import lombok.Value;
+
+@Value
+public class Edge<T> {
+    String cursor;
+    T node;
+}
@@ -0,0 +1,11 @@
+package com.banking.graphql.pagination;
+
+import lombok.Value;
+
+@Value
+public class PageInfo {
+    boolean hasNextPage;
+    boolean hasPreviousPage;
+    String startCursor;
+    String endCursor;
+}
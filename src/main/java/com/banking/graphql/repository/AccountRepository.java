@@ -2,16 +2,38 @@ package com.banking.graphql.repository;
 
 import com.banking.graphql.model.Account;
 import com.banking.graphql.model.AccountStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Account> findByCustomerId(Long customerId);
+
+    List<Account> findByCustomerIdIn(Collection<Long> customerIds);
     List<Account> findByStatus(AccountStatus status);
-    boolean existsByAccountNumber(String accountNumber);
+
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Account a ORDER BY a.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        // A full scan must not push the hot entries out of the second-level cache
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Account> streamAll();
 }
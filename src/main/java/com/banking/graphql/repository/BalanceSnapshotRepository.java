@@ -0,0 +1,22 @@
+package com.banking.graphql.repository;
+
+import com.banking.graphql.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+    List<BalanceSnapshot> findByAccountIdInAndSnapshotDate(Collection<Long> accountIds, LocalDate snapshotDate);
+
+    // Latest day with activity on or before the given date, served by uk_balance_snapshots_account_date
+    Optional<BalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+            Long accountId, LocalDate snapshotDate);
+
+    List<BalanceSnapshot> findByAccountIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+            Long accountId, LocalDate from, LocalDate to);
+}
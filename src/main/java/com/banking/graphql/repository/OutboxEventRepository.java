@@ -0,0 +1,24 @@
+package com.banking.graphql.repository;
+
+import com.banking.graphql.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Oldest first, served by the primary key
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    // Events with an id above afterId that precede, in their aggregate, an event at or below it
+    @Query("SELECT e FROM OutboxEvent e WHERE e.aggregateId IN :aggregateIds AND e.id > :afterId " +
+           "AND e.aggregateSequence < (SELECT MAX(p.aggregateSequence) FROM OutboxEvent p " +
+           "WHERE p.aggregateId = e.aggregateId AND p.id <= :afterId)")
+    List<OutboxEvent> findOvertaken(@Param("aggregateIds") Collection<String> aggregateIds,
+                                    @Param("afterId") Long afterId);
+}
@@ -2,16 +2,43 @@ package com.banking.graphql.repository;
 
 import com.banking.graphql.model.Transaction;
 import com.banking.graphql.model.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAccountId(Long accountId);
     List<Transaction> findByAccountIdOrderByTimestampDesc(Long accountId);
+    List<Transaction> findByAccountIdInOrderByTimestampDesc(Collection<Long> accountIds);
+
+    // Keyset pagination over (timestamp, id), served by idx_transactions_account_timestamp
+    List<Transaction> findByAccountIdOrderByTimestampDescIdDesc(Long accountId, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.account.id = :accountId " +
+           "AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id)) " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findPageAfter(@Param("accountId") Long accountId,
+                                    @Param("timestamp") LocalDateTime timestamp,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    // Served by idx_transactions_account_type_timestamp
     List<Transaction> findByAccountIdAndType(Long accountId, TransactionType type);
     List<Transaction> findByAccountIdAndTimestampBetween(Long accountId, LocalDateTime start, LocalDateTime end);
+
+    List<Transaction> findByTransactionIdIn(Collection<String> transactionIds);
+
+    // Last posting in a window, the raw tail on top of a balance snapshot
+    Optional<Transaction> findFirstByAccountIdAndTimestampBetweenOrderByTimestampDescIdDesc(
+            Long accountId, LocalDateTime start, LocalDateTime end);
+    Optional<Transaction> findFirstByAccountIdAndTimestampLessThanEqualOrderByTimestampDescIdDesc(
+            Long accountId, LocalDateTime timestamp);
 }
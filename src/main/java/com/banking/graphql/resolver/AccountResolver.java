@@ -1,30 +1,52 @@
 package com.banking.graphql.resolver;
 
+import com.banking.graphql.config.DataLoaderConfig;
+import com.banking.graphql.config.GraphQlExecutionConfig;
+import com.banking.graphql.dto.BalanceUpdate;
+import com.banking.graphql.event.TransactionEventBus;
 import com.banking.graphql.model.Account;
 import com.banking.graphql.model.AccountStatus;
 import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.pagination.Connection;
 import com.banking.graphql.service.AccountService;
+import graphql.schema.DataFetchingEnvironment;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Controller
 @RequiredArgsConstructor
 public class AccountResolver {
 
     private final AccountService accountService;
+    private final TransactionEventBus transactionEventBus;
+    @Qualifier(GraphQlExecutionConfig.GRAPHQL_EXECUTOR)
+    private final Executor graphQlExecutor;
 
     @QueryMapping
     public List<Account> getAllAccounts() {
         return accountService.getAllAccounts();
     }
 
+    @QueryMapping
+    public Connection<Account> accounts(@Argument Integer first, @Argument String after) {
+        return accountService.getAccountsPage(first, after);
+    }
+
     @QueryMapping
     public Account getAccountById(@Argument Long id) {
         return accountService.getAccountById(id);
@@ -36,13 +58,35 @@ public class AccountResolver {
     }
 
     @QueryMapping
-    public List<Account> getAccountsByCustomerId(@Argument Long customerId) {
-        return accountService.getAccountsByCustomerId(customerId);
+    public CompletableFuture<List<Account>> getAccountsByCustomerId(@Argument Long customerId) {
+        return CompletableFuture.supplyAsync(
+            () -> accountService.getAccountsByCustomerId(customerId), graphQlExecutor);
     }
 
     @QueryMapping
-    public Double getBalance(@Argument String accountNumber) {
-        return accountService.getBalance(accountNumber).doubleValue();
+    public CompletableFuture<Double> getBalance(@Argument String accountNumber) {
+        return CompletableFuture.supplyAsync(
+            () -> accountService.getBalance(accountNumber).doubleValue(), graphQlExecutor);
+    }
+
+    @SubscriptionMapping
+    public Flux<BalanceUpdate> balanceChanged(@Argument String accountNumber) {
+        // Fails the subscription up front for an unknown account
+        accountService.getAccountByNumber(accountNumber);
+        return transactionEventBus.balanceChanged(accountNumber);
+    }
+
+    @SchemaMapping(typeName = "Account")
+    public CompletableFuture<Customer> customer(Account account, DataFetchingEnvironment env) {
+        // getId() on the lazy proxy returns the foreign key without initializing it
+        return env.<Long, Customer>getDataLoader(DataLoaderConfig.CUSTOMER_BY_ID)
+                .load(account.getCustomer().getId());
+    }
+
+    @SchemaMapping(typeName = "Account")
+    public CompletableFuture<List<Transaction>> transactions(Account account, DataFetchingEnvironment env) {
+        return env.<Long, List<Transaction>>getDataLoader(DataLoaderConfig.TRANSACTIONS_BY_ACCOUNT_ID)
+                .load(account.getId());
     }
 
     @MutationMapping
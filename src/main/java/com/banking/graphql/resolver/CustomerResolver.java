@@ -1,15 +1,21 @@
 package com.banking.graphql.resolver;
 
+import com.banking.graphql.config.DataLoaderConfig;
+import com.banking.graphql.model.Account;
 import com.banking.graphql.model.Customer;
+import com.banking.graphql.pagination.Connection;
 import com.banking.graphql.service.CustomerService;
+import graphql.schema.DataFetchingEnvironment;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -22,6 +28,11 @@ public class CustomerResolver {
         return customerService.getAllCustomers();
     }
 
+    @QueryMapping
+    public Connection<Customer> customers(@Argument Integer first, @Argument String after) {
+        return customerService.getCustomersPage(first, after);
+    }
+
     @QueryMapping
     public Customer getCustomerById(@Argument Long id) {
         return customerService.getCustomerById(id);
@@ -32,6 +43,12 @@ public class CustomerResolver {
         return customerService.getCustomerByEmail(email);
     }
 
+    @SchemaMapping(typeName = "Customer")
+    public CompletableFuture<List<Account>> accounts(Customer customer, DataFetchingEnvironment env) {
+        return env.<Long, List<Account>>getDataLoader(DataLoaderConfig.ACCOUNTS_BY_CUSTOMER_ID)
+                .load(customer.getId());
+    }
+
     @MutationMapping
     public Customer createCustomer(@Argument Map<String, Object> input) {
         String name = (String) input.get("name");
@@ -1,30 +1,61 @@
 package com.banking.graphql.resolver;
 
+import com.banking.graphql.config.GraphQlExecutionConfig;
+import com.banking.graphql.dto.BatchResult;
+import com.banking.graphql.dto.DepositRequest;
+import com.banking.graphql.dto.TransferRequest;
+import com.banking.graphql.event.TransactionEventBus;
+import com.banking.graphql.model.BalanceSnapshot;
 import com.banking.graphql.model.Transaction;
 import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.pagination.Connection;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.BalanceSnapshotService;
+import com.banking.graphql.service.BatchTransactionService;
 import com.banking.graphql.service.TransactionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Controller
 @RequiredArgsConstructor
 public class TransactionResolver {
 
     private final TransactionService transactionService;
+    private final BatchTransactionService batchTransactionService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final AccountService accountService;
+    private final TransactionEventBus transactionEventBus;
+    @Qualifier(GraphQlExecutionConfig.GRAPHQL_EXECUTOR)
+    private final Executor graphQlExecutor;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
     @QueryMapping
-    public List<Transaction> getTransactionHistory(@Argument String accountNumber) {
-        return transactionService.getTransactionHistory(accountNumber);
+    public CompletableFuture<List<Transaction>> getTransactionHistory(@Argument String accountNumber) {
+        return CompletableFuture.supplyAsync(
+            () -> transactionService.getTransactionHistory(accountNumber), graphQlExecutor);
+    }
+
+    @QueryMapping
+    public CompletableFuture<Connection<Transaction>> transactionHistory(@Argument String accountNumber,
+                                                                         @Argument Integer first,
+                                                                         @Argument String after) {
+        return CompletableFuture.supplyAsync(
+            () -> transactionService.getTransactionHistoryPage(accountNumber, first, after), graphQlExecutor);
     }
 
     @QueryMapping
@@ -42,6 +73,19 @@ public class TransactionResolver {
         return transactionService.getTransactionsByDateRange(accountNumber, start, end);
     }
 
+    @QueryMapping
+    public Double getBalanceAt(@Argument String accountNumber, @Argument String timestamp) {
+        LocalDateTime at = LocalDateTime.parse(timestamp, formatter);
+        return balanceSnapshotService.getBalanceAt(accountNumber, at).doubleValue();
+    }
+
+    @QueryMapping
+    public List<BalanceSnapshot> getDailySummary(@Argument String accountNumber,
+                                                 @Argument String from,
+                                                 @Argument String to) {
+        return balanceSnapshotService.getDailySummary(accountNumber, LocalDate.parse(from), LocalDate.parse(to));
+    }
+
     @MutationMapping
     public Transaction deposit(@Argument Map<String, Object> input) {
         String accountNumber = (String) input.get("accountNumber");
@@ -49,8 +93,9 @@ public class TransactionResolver {
             ((Number) input.get("amount")).doubleValue()
         );
         String description = (String) input.get("description");
+        String idempotencyKey = (String) input.get("idempotencyKey");
         
-        return transactionService.deposit(accountNumber, amount, description);
+        return transactionService.deposit(accountNumber, amount, description, idempotencyKey);
     }
 
     @MutationMapping
@@ -60,8 +105,9 @@ public class TransactionResolver {
             ((Number) input.get("amount")).doubleValue()
         );
         String description = (String) input.get("description");
+        String idempotencyKey = (String) input.get("idempotencyKey");
         
-        return transactionService.withdraw(accountNumber, amount, description);
+        return transactionService.withdraw(accountNumber, amount, description, idempotencyKey);
     }
 
     @MutationMapping
@@ -72,7 +118,40 @@ public class TransactionResolver {
             ((Number) input.get("amount")).doubleValue()
         );
         String description = (String) input.get("description");
+        String idempotencyKey = (String) input.get("idempotencyKey");
         
-        return transactionService.transfer(fromAccountNumber, toAccountNumber, amount, description);
+        return transactionService.transfer(fromAccountNumber, toAccountNumber, amount, description, idempotencyKey);
+    }
+
+    @MutationMapping
+    public BatchResult batchDeposit(@Argument List<Map<String, Object>> inputs, @Argument Boolean atomic) {
+        List<DepositRequest> requests = inputs.stream()
+            .map(input -> new DepositRequest(
+                (String) input.get("accountNumber"),
+                BigDecimal.valueOf(((Number) input.get("amount")).doubleValue()),
+                (String) input.get("description")))
+            .toList();
+
+        return batchTransactionService.batchDeposit(requests, !Boolean.FALSE.equals(atomic));
+    }
+
+    @MutationMapping
+    public BatchResult batchTransfer(@Argument List<Map<String, Object>> inputs, @Argument Boolean atomic) {
+        List<TransferRequest> requests = inputs.stream()
+            .map(input -> new TransferRequest(
+                (String) input.get("fromAccountNumber"),
+                (String) input.get("toAccountNumber"),
+                BigDecimal.valueOf(((Number) input.get("amount")).doubleValue()),
+                (String) input.get("description")))
+            .toList();
+
+        return batchTransactionService.batchTransfer(requests, !Boolean.FALSE.equals(atomic));
+    }
+
+    @SubscriptionMapping
+    public Flux<Transaction> transactionPosted(@Argument String accountNumber) {
+        // Fails the subscription up front for an unknown account
+        accountService.getAccountByNumber(accountNumber);
+        return transactionEventBus.transactionsPosted(accountNumber);
     }
 }
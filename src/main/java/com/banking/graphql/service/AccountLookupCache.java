@@ -0,0 +1,84 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.exception.AccountNotFoundException;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Read-through cache from account number to the account's ID and immutable metadata.
+ *
+ * Only values that never change after account creation are cached; balance and status are
+ * always read from the database. Entries are size- and TTL-bounded, invalidated whenever an
+ * account's status changes, and hit/miss counts are published as {@code cache.*} metrics
+ * tagged {@code cache=accountLookup}.
+ */
+@Component
+public class AccountLookupCache {
+
+    public record AccountRef(Long id, String accountNumber, AccountType accountType, Long customerId,
+                             LocalDateTime createdAt) {
+    }
+
+    private final AccountRepository accountRepository;
+    private final Cache<String, AccountRef> cache;
+
+    public AccountLookupCache(AccountRepository accountRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${banking.cache.account-lookup.max-size:100000}") long maxSize,
+                              @Value("${banking.cache.account-lookup.ttl:10m}") Duration ttl) {
+        this.accountRepository = accountRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accountLookup");
+    }
+
+    public AccountRef resolve(String accountNumber) {
+        AccountRef ref = cache.getIfPresent(accountNumber);
+        if (ref != null) {
+            return ref;
+        }
+        // Loaded outside Caffeine's compute lock: a JDBC call under that monitor would pin a virtual
+        // thread. Concurrent misses may load the same row twice, which is harmless.
+        // Unknown account numbers are not cached.
+        ref = load(accountNumber);
+        if (ref == null) {
+            throw new AccountNotFoundException(accountNumber);
+        }
+        cache.put(accountNumber, ref);
+        return ref;
+    }
+
+    public void invalidate(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private AccountRef load(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .map(AccountLookupCache::toRef)
+                .orElse(null);
+    }
+
+    private static AccountRef toRef(Account account) {
+        // getId() on the lazy customer proxy does not load the customer
+        return new AccountRef(account.getId(), account.getAccountNumber(),
+                account.getAccountType(), account.getCustomer().getId(), account.getCreatedAt());
+    }
+}
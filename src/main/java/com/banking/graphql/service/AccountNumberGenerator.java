@@ -0,0 +1,106 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.exception.BankingException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocates account numbers in blocks reserved from the {@value #SEQUENCE} database sequence.
+ *
+ * Each sequence value {@code V} reserves the serials {@code [V, V + BLOCK_SIZE)}, which are then
+ * handed out from memory: one sequence round trip per {@value #BLOCK_SIZE} accounts, and no
+ * existence check, because a sequence never returns the same value twice, on any node. An account
+ * number is the 9-digit serial {@code 100000000 + n} followed by a Luhn check digit, so every
+ * number has 10 digits and none collides with the older random numbers, which all start with 0.
+ * Numbers reserved by a node that shuts down are skipped, never reused.
+ *
+ * The sequence must be created with {@code INCREMENT BY} {@value #BLOCK_SIZE}; see schema.sql.
+ */
+@Component
+public class AccountNumberGenerator {
+
+    public static final String SEQUENCE = "account_number_seq";
+    public static final int BLOCK_SIZE = 1000;
+
+    private static final long FIRST_SERIAL = 100_000_000L;
+    private static final long LAST_SERIAL = 999_999_999L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextBlockSql;
+    // A lock rather than synchronized: the block fetch is JDBC and would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long blockEnd;
+
+    public AccountNumberGenerator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE);
+    }
+
+    public String nextAccountNumber() {
+        long index;
+        lock.lock();
+        try {
+            if (next >= blockEnd) {
+                Long blockStart = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+                next = blockStart;
+                blockEnd = blockStart + BLOCK_SIZE;
+            }
+            index = next++;
+        } finally {
+            lock.unlock();
+        }
+        return accountNumber(index);
+    }
+
+    /**
+     * The account number for sequence value {@code index}. Bulk loaders that assign numbers
+     * themselves must move the sequence past the indexes they used.
+     */
+    public static String accountNumber(long index) {
+        long serial = FIRST_SERIAL + index;
+        if (serial > LAST_SERIAL) {
+            throw new BankingException("Account number space exhausted");
+        }
+        String digits = Long.toString(serial);
+        return digits + checkDigit(digits);
+    }
+
+    /**
+     * Whether {@code accountNumber} ends in a valid Luhn check digit. Only numbers issued by this
+     * generator are guaranteed to; older random account numbers may not.
+     */
+    public static boolean hasValidCheckDigit(String accountNumber) {
+        if (accountNumber.length() < 2 || !accountNumber.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        String digits = accountNumber.substring(0, accountNumber.length() - 1);
+        return checkDigit(digits) == accountNumber.charAt(accountNumber.length() - 1) - '0';
+    }
+
+    static int checkDigit(String digits) {
+        int sum = 0;
+        // The check digit will be appended on the right, so doubling starts at the last digit
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
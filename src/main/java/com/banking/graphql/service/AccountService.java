@@ -7,15 +7,21 @@ import com.banking.graphql.model.Account;
 import com.banking.graphql.model.AccountStatus;
 import com.banking.graphql.model.AccountType;
 import com.banking.graphql.model.Customer;
+import com.banking.graphql.pagination.Connection;
+import com.banking.graphql.pagination.Cursors;
 import com.banking.graphql.repository.AccountRepository;
 import com.banking.graphql.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +29,9 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
+    private final AccountLookupCache accountLookupCache;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final AccountNumberGenerator accountNumberGenerator;
 
     @Transactional
     public Account createAccount(Long customerId, AccountType accountType, BigDecimal initialDeposit) {
@@ -33,11 +42,13 @@ public class AccountService {
             throw new BankingException("Initial deposit cannot be negative");
         }
 
-        String accountNumber = generateAccountNumber();
+        String accountNumber = accountNumberGenerator.nextAccountNumber();
         Account account = new Account(accountNumber, accountType, initialDeposit, 
                                       customer, AccountStatus.ACTIVE);
         
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        balanceSnapshotService.openAccount(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -48,7 +59,7 @@ public class AccountService {
 
     @Transactional(readOnly = true)
     public Account getAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
+        return accountRepository.findById(accountLookupCache.resolve(accountNumber).id())
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber));
     }
 
@@ -57,11 +68,37 @@ public class AccountService {
         return accountRepository.findByCustomerId(customerId);
     }
 
+    /**
+     * Loads the accounts of several customers with a single IN query, grouped by customer ID.
+     * Every requested ID is present in the result, mapped to an empty list if it has no accounts.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Account>> getAccountsByCustomerIds(Collection<Long> customerIds) {
+        Map<Long, List<Account>> accountsByCustomer = new HashMap<>();
+        customerIds.forEach(customerId -> accountsByCustomer.put(customerId, new ArrayList<>()));
+        for (Account account : accountRepository.findByCustomerIdIn(customerIds)) {
+            accountsByCustomer.get(account.getCustomer().getId()).add(account);
+        }
+        return accountsByCustomer;
+    }
+
     @Transactional(readOnly = true)
     public List<Account> getAllAccounts() {
         return accountRepository.findAll();
     }
 
+    /**
+     * Returns one page of accounts in ID order, read with a keyset condition on the ID.
+     */
+    @Transactional(readOnly = true)
+    public Connection<Account> getAccountsPage(Integer first, String after) {
+        int pageSize = Cursors.pageSize(first);
+        long afterId = after == null ? 0L : Cursors.decodeId(after);
+        List<Account> rows = accountRepository.findByIdGreaterThanOrderByIdAsc(
+            afterId, PageRequest.of(0, pageSize + 1));
+        return Connection.of(rows, pageSize, after != null, account -> Cursors.encode(account.getId()));
+    }
+
     @Transactional(readOnly = true)
     public BigDecimal getBalance(String accountNumber) {
         Account account = getAccountByNumber(accountNumber);
@@ -72,6 +109,7 @@ public class AccountService {
     public Account updateAccountStatus(String accountNumber, AccountStatus status) {
         Account account = getAccountByNumber(accountNumber);
         account.setStatus(status);
+        accountLookupCache.invalidate(accountNumber);
         return accountRepository.save(account);
     }
 
@@ -84,16 +122,8 @@ public class AccountService {
         }
         
         account.setStatus(AccountStatus.CLOSED);
+        accountLookupCache.invalidate(accountNumber);
         accountRepository.save(account);
         return true;
     }
-
-    private String generateAccountNumber() {
-        Random random = new Random();
-        String accountNumber;
-        do {
-            accountNumber = String.format("%010d", random.nextInt(1000000000));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
-        return accountNumber;
-    }
 }
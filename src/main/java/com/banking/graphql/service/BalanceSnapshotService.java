@@ -0,0 +1,161 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.exception.BankingException;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.BalanceSnapshot;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.repository.BalanceSnapshotRepository;
+import com.banking.graphql.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Daily balance snapshots: one row per account and day with activity, holding the opening and
+ * closing balance and the credit/debit turnover and counts of that day.
+ *
+ * Snapshots are updated in the same transaction as the postings they summarize, so they are always
+ * consistent with the raw transactions. Point-in-time balances are answered from the latest
+ * snapshot plus at most one raw row of the same day.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceSnapshotService {
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLookupCache accountLookupCache;
+
+    /**
+     * Records the opening balance of a newly created account. Must run in the creating transaction.
+     */
+    public void openAccount(Account account) {
+        balanceSnapshotRepository.save(
+            new BalanceSnapshot(account, account.getCreatedAt().toLocalDate(), account.getBalance()));
+    }
+
+    /**
+     * Folds postings into the snapshots of their accounts and days. Postings of one account must be
+     * in posting order, as their balanceAfter values are. Must run in the posting transaction.
+     */
+    public void apply(List<Transaction> postings) {
+        Map<LocalDate, List<Transaction>> byDate = postings.stream()
+                .collect(Collectors.groupingBy(posting -> posting.getTimestamp().toLocalDate(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        byDate.forEach((date, dayPostings) -> {
+            List<Long> accountIds = dayPostings.stream()
+                    .map(posting -> posting.getAccount().getId())
+                    .distinct()
+                    .toList();
+            Map<Long, BalanceSnapshot> snapshots = new HashMap<>(balanceSnapshotRepository
+                    .findByAccountIdInAndSnapshotDate(accountIds, date).stream()
+                    .collect(Collectors.toMap(snapshot -> snapshot.getAccount().getId(), Function.identity())));
+
+            List<BalanceSnapshot> created = new ArrayList<>();
+            for (Transaction posting : dayPostings) {
+                BalanceSnapshot snapshot = snapshots.computeIfAbsent(posting.getAccount().getId(), accountId -> {
+                    // First activity of the day: the balance before this posting opened the day
+                    BalanceSnapshot opened = new BalanceSnapshot(posting.getAccount(), date,
+                            posting.getBalanceAfter().subtract(signedAmount(posting)));
+                    created.add(opened);
+                    return opened;
+                });
+                if (isCredit(posting.getType())) {
+                    snapshot.setCreditTotal(snapshot.getCreditTotal().add(posting.getAmount()));
+                    snapshot.setCreditCount(snapshot.getCreditCount() + 1);
+                } else {
+                    snapshot.setDebitTotal(snapshot.getDebitTotal().add(posting.getAmount()));
+                    snapshot.setDebitCount(snapshot.getDebitCount() + 1);
+                }
+                snapshot.setClosingBalance(posting.getBalanceAfter());
+            }
+            // Existing snapshots are managed and flushed with the transaction
+            if (!created.isEmpty()) {
+                openDays(created);
+            }
+        });
+    }
+
+    /**
+     * Inserts first-of-day snapshots right away. A concurrent posting may have opened the same day
+     * since we looked; its row then holds the unique key, and failing as a concurrency conflict
+     * lets MoneyMovementExecutor retry the posting against that row.
+     */
+    private void openDays(List<BalanceSnapshot> created) {
+        try {
+            balanceSnapshotRepository.saveAllAndFlush(created);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(BalanceSnapshot.ACCOUNT_DATE_KEY)) {
+                throw new OptimisticLockingFailureException("Balance snapshot was opened concurrently", e);
+            }
+            throw e;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAt(String accountNumber, LocalDateTime timestamp) {
+        AccountLookupCache.AccountRef account = accountLookupCache.resolve(accountNumber);
+        // The creation day's snapshot opens with the initial deposit, which did not exist earlier that day
+        if (timestamp.isBefore(account.createdAt())) {
+            return BigDecimal.ZERO;
+        }
+        Long accountId = account.id();
+        LocalDate date = timestamp.toLocalDate();
+
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(accountId, date);
+        if (snapshot.isEmpty()) {
+            // No snapshot yet (account predates snapshots or did not exist): replay from raw rows
+            return transactionRepository
+                    .findFirstByAccountIdAndTimestampLessThanEqualOrderByTimestampDescIdDesc(accountId, timestamp)
+                    .map(Transaction::getBalanceAfter)
+                    .orElse(BigDecimal.ZERO);
+        }
+        if (snapshot.get().getSnapshotDate().isBefore(date)) {
+            return snapshot.get().getClosingBalance();
+        }
+        return transactionRepository
+                .findFirstByAccountIdAndTimestampBetweenOrderByTimestampDescIdDesc(
+                    accountId, date.atStartOfDay(), timestamp)
+                .map(Transaction::getBalanceAfter)
+                .orElse(snapshot.get().getOpeningBalance());
+    }
+
+    @Transactional(readOnly = true)
+    public List<BalanceSnapshot> getDailySummary(String accountNumber, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BankingException("'from' must not be after 'to'");
+        }
+        Long accountId = accountLookupCache.resolve(accountNumber).id();
+        return balanceSnapshotRepository.findByAccountIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+            accountId, from, to);
+    }
+
+    private static boolean isCredit(TransactionType type) {
+        return type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER_IN;
+    }
+
+    private static BigDecimal signedAmount(Transaction posting) {
+        return isCredit(posting.getType()) ? posting.getAmount() : posting.getAmount().negate();
+    }
+}
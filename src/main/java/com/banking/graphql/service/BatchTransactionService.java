@@ -0,0 +1,197 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.dto.BatchItemResult;
+import com.banking.graphql.dto.BatchResult;
+import com.banking.graphql.dto.DepositRequest;
+import com.banking.graphql.dto.TransferRequest;
+import com.banking.graphql.exception.BankingException;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountStatus;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk deposits and transfers for payroll and settlement files.
+ *
+ * All affected accounts are loaded with one query and every item is validated in memory against
+ * running balances, in input order. Only then are the balances and Transaction rows written, so
+ * the inserts go out as JDBC batches. With {@code atomic} set, a single invalid item rejects the
+ * whole batch and nothing is written; otherwise valid items are applied and invalid ones reported.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchTransactionService {
+
+    private static final String NOT_APPLIED = "Not applied: another item in the batch failed";
+
+    private final AccountRepository accountRepository;
+    private final TransactionPostingService transactionPostingService;
+    private final MoneyMovementExecutor moneyMovementExecutor;
+    private final TransactionIdGenerator transactionIdGenerator;
+
+    @Value("${banking.batch.max-items:10000}")
+    private int maxItems;
+
+    public BatchResult batchDeposit(List<DepositRequest> requests, boolean atomic) {
+        checkSize(requests);
+        Set<String> accountNumbers = requests.stream()
+                .map(DepositRequest::getAccountNumber)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        return moneyMovementExecutor.execute(accountNumbers, () -> {
+            Ledger ledger = new Ledger(loadAccounts(accountNumbers));
+            List<BatchItemResult> items = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                DepositRequest request = requests.get(i);
+                String error = validateDeposit(request, ledger);
+                if (error != null) {
+                    items.add(BatchItemResult.failed(i, error));
+                    continue;
+                }
+                Transaction deposit = ledger.post(request.getAccountNumber(), TransactionType.DEPOSIT,
+                        request.getAmount(), request.getDescription());
+                items.add(BatchItemResult.succeeded(i, List.of(deposit)));
+            }
+            return commit(ledger, items, atomic);
+        });
+    }
+
+    public BatchResult batchTransfer(List<TransferRequest> requests, boolean atomic) {
+        checkSize(requests);
+        Set<String> accountNumbers = new TreeSet<>();
+        for (TransferRequest request : requests) {
+            accountNumbers.add(request.getFromAccountNumber());
+            accountNumbers.add(request.getToAccountNumber());
+        }
+
+        return moneyMovementExecutor.execute(accountNumbers, () -> {
+            Ledger ledger = new Ledger(loadAccounts(accountNumbers));
+            List<BatchItemResult> items = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                TransferRequest request = requests.get(i);
+                String error = validateTransfer(request, ledger);
+                if (error != null) {
+                    items.add(BatchItemResult.failed(i, error));
+                    continue;
+                }
+                Transaction transferOut = ledger.post(request.getFromAccountNumber(), TransactionType.TRANSFER_OUT,
+                        request.getAmount(), request.getDescription());
+                Transaction transferIn = ledger.post(request.getToAccountNumber(), TransactionType.TRANSFER_IN,
+                        request.getAmount(), request.getDescription());
+                for (Transaction transaction : List.of(transferOut, transferIn)) {
+                    transaction.setFromAccountNumber(request.getFromAccountNumber());
+                    transaction.setToAccountNumber(request.getToAccountNumber());
+                }
+                items.add(BatchItemResult.succeeded(i, List.of(transferOut, transferIn)));
+            }
+            return commit(ledger, items, atomic);
+        });
+    }
+
+    private BatchResult commit(Ledger ledger, List<BatchItemResult> items, boolean atomic) {
+        boolean anyFailed = items.stream().anyMatch(item -> !item.isSuccess());
+        if (atomic && anyFailed) {
+            // Nothing has been written yet, so rejecting the batch only means reporting it
+            List<BatchItemResult> rejected = items.stream()
+                    .map(item -> item.isSuccess() ? BatchItemResult.failed(item.getIndex(), NOT_APPLIED) : item)
+                    .toList();
+            return BatchResult.of(false, rejected);
+        }
+
+        ledger.balances.forEach((accountNumber, balance) -> ledger.accounts.get(accountNumber).setBalance(balance));
+        transactionPostingService.post(ledger.postings);
+        return BatchResult.of(!ledger.postings.isEmpty(), items);
+    }
+
+    private static String validateDeposit(DepositRequest request, Ledger ledger) {
+        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Deposit amount must be positive";
+        }
+        Account account = ledger.accounts.get(request.getAccountNumber());
+        if (account == null) {
+            return "Account not found: " + request.getAccountNumber();
+        }
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            return "Account is not active";
+        }
+        return null;
+    }
+
+    private static String validateTransfer(TransferRequest request, Ledger ledger) {
+        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Transfer amount must be positive";
+        }
+        if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+            return "Cannot transfer to the same account";
+        }
+        Account fromAccount = ledger.accounts.get(request.getFromAccountNumber());
+        if (fromAccount == null) {
+            return "Account not found: " + request.getFromAccountNumber();
+        }
+        Account toAccount = ledger.accounts.get(request.getToAccountNumber());
+        if (toAccount == null) {
+            return "Account not found: " + request.getToAccountNumber();
+        }
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
+            return "Source account is not active";
+        }
+        if (toAccount.getStatus() != AccountStatus.ACTIVE) {
+            return "Destination account is not active";
+        }
+        BigDecimal available = ledger.balances.get(request.getFromAccountNumber());
+        if (available.compareTo(request.getAmount()) < 0) {
+            return "Insufficient balance. Available: " + available + ", Required: " + request.getAmount();
+        }
+        return null;
+    }
+
+    private Map<String, Account> loadAccounts(Set<String> accountNumbers) {
+        return accountRepository.findByAccountNumberIn(accountNumbers).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+    }
+
+    private void checkSize(List<?> requests) {
+        if (requests.size() > maxItems) {
+            throw new BankingException("A batch may contain at most " + maxItems + " items");
+        }
+    }
+
+    /**
+     * Working state of one batch: the loaded accounts, their running balances and the
+     * Transaction rows to insert. Account entities are only touched on commit.
+     */
+    private final class Ledger {
+        private final Map<String, Account> accounts;
+        private final Map<String, BigDecimal> balances = new HashMap<>();
+        private final List<Transaction> postings = new ArrayList<>();
+
+        private Ledger(Map<String, Account> accounts) {
+            this.accounts = accounts;
+            accounts.forEach((accountNumber, account) -> balances.put(accountNumber, account.getBalance()));
+        }
+
+        private Transaction post(String accountNumber, TransactionType type, BigDecimal amount, String description) {
+            BigDecimal signedAmount = type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER_IN
+                    ? amount : amount.negate();
+            BigDecimal balanceAfter = balances.merge(accountNumber, signedAmount, BigDecimal::add);
+            Transaction transaction = new Transaction(transactionIdGenerator.nextId(), type, amount, description,
+                    accounts.get(accountNumber), balanceAfter);
+            postings.add(transaction);
+            return transaction;
+        }
+    }
+}
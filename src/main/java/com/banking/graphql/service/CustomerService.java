@@ -3,12 +3,19 @@ package com.banking.graphql.service;
 import com.banking.graphql.exception.BankingException;
 import com.banking.graphql.exception.CustomerNotFoundException;
 import com.banking.graphql.model.Customer;
+import com.banking.graphql.pagination.Connection;
+import com.banking.graphql.pagination.Cursors;
 import com.banking.graphql.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -38,11 +45,29 @@ public class CustomerService {
                 .orElseThrow(() -> new CustomerNotFoundException(email));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+        return customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+    }
+
     @Transactional(readOnly = true)
     public List<Customer> getAllCustomers() {
         return customerRepository.findAll();
     }
 
+    /**
+     * Returns one page of customers in ID order, read with a keyset condition on the ID.
+     */
+    @Transactional(readOnly = true)
+    public Connection<Customer> getCustomersPage(Integer first, String after) {
+        int pageSize = Cursors.pageSize(first);
+        long afterId = after == null ? 0L : Cursors.decodeId(after);
+        List<Customer> rows = customerRepository.findByIdGreaterThanOrderByIdAsc(
+            afterId, PageRequest.of(0, pageSize + 1));
+        return Connection.of(rows, pageSize, after != null, customer -> Cursors.encode(customer.getId()));
+    }
+
     @Transactional
     public Customer updateCustomer(Long id, String name, String phone, String address) {
         Customer customer = getCustomerById(id);
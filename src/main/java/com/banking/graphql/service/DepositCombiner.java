@@ -0,0 +1,140 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.exception.AccountNotFoundException;
+import com.banking.graphql.exception.BankingException;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountStatus;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.repository.AccountRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write combining for deposits into hot accounts.
+ *
+ * Callers enqueue their deposit on a per-account queue. Whichever caller holds the queue's combiner
+ * lock drains up to {@code max-batch-size} pending deposits and applies them in one transaction:
+ * a single balance UPDATE plus one INSERT per deposit, each {@link Transaction} carrying the
+ * running {@code balanceAfter} in queue order. Callers waiting for the lock usually find their
+ * deposit already applied. An uncontended account simply gets batches of one.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepositCombiner {
+
+    private final AccountRepository accountRepository;
+    private final TransactionPostingService transactionPostingService;
+    private final MoneyMovementExecutor moneyMovementExecutor;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountLookupCache accountLookupCache;
+
+    private final ConcurrentHashMap<String, AccountQueue> queues = new ConcurrentHashMap<>();
+
+    @Getter
+    @Setter
+    @Value("${banking.deposits.write-combining.enabled:false}")
+    private volatile boolean enabled;
+
+    @Value("${banking.deposits.write-combining.max-batch-size:100}")
+    private int maxBatchSize;
+
+    public Transaction deposit(String accountNumber, BigDecimal amount, String description) {
+        PendingDeposit deposit = new PendingDeposit(amount, description);
+        AccountQueue queue = queues.computeIfAbsent(accountNumber, key -> new AccountQueue());
+        queue.pending.add(deposit);
+
+        while (!deposit.result.isDone()) {
+            queue.combiner.lock();
+            try {
+                if (!deposit.result.isDone()) {
+                    drainBatch(accountNumber, queue);
+                }
+            } finally {
+                queue.combiner.unlock();
+            }
+        }
+
+        try {
+            return deposit.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BankingException("Deposit failed", e.getCause());
+        }
+    }
+
+    private void drainBatch(String accountNumber, AccountQueue queue) {
+        List<PendingDeposit> batch = new ArrayList<>();
+        PendingDeposit next;
+        while (batch.size() < maxBatchSize && (next = queue.pending.poll()) != null) {
+            batch.add(next);
+        }
+
+        try {
+            List<Transaction> transactions = moneyMovementExecutor.execute(List.of(accountNumber),
+                    () -> applyBatch(accountNumber, batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(transactions.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(deposit -> deposit.result.completeExceptionally(e));
+        }
+
+        // A caller that still holds a reference to a removed queue drains it itself,
+        // so dropping idle queues cannot strand a deposit
+        if (queue.pending.isEmpty()) {
+            queues.remove(accountNumber, queue);
+        }
+    }
+
+    private List<Transaction> applyBatch(String accountNumber, List<PendingDeposit> batch) {
+        Account account = accountRepository.findById(accountLookupCache.resolve(accountNumber).id())
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new BankingException("Account is not active");
+        }
+
+        BigDecimal balance = account.getBalance();
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (PendingDeposit deposit : batch) {
+            balance = balance.add(deposit.amount);
+            transactions.add(new Transaction(transactionIdGenerator.nextId(), TransactionType.DEPOSIT,
+                    deposit.amount, deposit.description, account, balance));
+        }
+
+        account.setBalance(balance);
+        accountRepository.save(account);
+        return transactionPostingService.post(transactions);
+    }
+
+    private static final class AccountQueue {
+        private final ConcurrentLinkedQueue<PendingDeposit> pending = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock combiner = new ReentrantLock();
+    }
+
+    private static final class PendingDeposit {
+        private final BigDecimal amount;
+        private final String description;
+        private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+        private PendingDeposit(BigDecimal amount, String description) {
+            this.amount = amount;
+            this.description = description;
+        }
+    }
+}
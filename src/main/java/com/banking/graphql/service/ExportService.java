@@ -0,0 +1,102 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.repository.AccountRepository;
+import com.banking.graphql.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-table CSV exports for reconciliation jobs. Rows are read through a forward-only JPA stream
+ * and the persistence context is cleared every {@code banking.export.chunk-size} rows, so heap use
+ * stays constant regardless of table size. The streams bypass the second-level cache, which keeps
+ * serving the hot customers and accounts during an export.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final CustomerRepository customerRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+
+    @Value("${banking.export.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true)
+    public long exportCustomers(Writer out) {
+        bypassSecondLevelCache();
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            return write(out, "id,name,email,phone,address", customers, customer -> String.join(",",
+                String.valueOf(customer.getId()),
+                csv(customer.getName()),
+                csv(customer.getEmail()),
+                csv(customer.getPhone()),
+                csv(customer.getAddress())));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAccounts(Writer out) {
+        bypassSecondLevelCache();
+        try (Stream<Account> accounts = accountRepository.streamAll()) {
+            return write(out, "id,accountNumber,accountType,balance,status,createdAt,customerId", accounts,
+                account -> String.join(",",
+                    String.valueOf(account.getId()),
+                    account.getAccountNumber(),
+                    account.getAccountType().name(),
+                    account.getBalance().toPlainString(),
+                    account.getStatus().name(),
+                    account.getCreatedAt().toString(),
+                    // getId() on the lazy proxy does not load the customer
+                    String.valueOf(account.getCustomer().getId())));
+        }
+    }
+
+    /**
+     * The streams' CACHE_MODE hint only holds while the query opens its cursor, and rows are loaded
+     * afterwards, so the session of the export transaction ignores the cache as well.
+     */
+    private void bypassSecondLevelCache() {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+    }
+
+    private <T> long write(Writer out, String header, Stream<T> rows, Function<T, String> toLine) {
+        try {
+            out.write(header);
+            out.write('\n');
+            long count = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(toLine.apply(iterator.next()));
+                out.write('\n');
+                if (++count % chunkSize == 0) {
+                    // Detach the chunk that was just written so it can be garbage collected
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+            out.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,166 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.exception.BankingException;
+import com.banking.graphql.model.IdempotencyRecord;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.repository.IdempotencyRecordRepository;
+import com.banking.graphql.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs a money movement at most once per idempotency key.
+ *
+ * The key, a fingerprint of the request and the resulting transaction IDs are stored in
+ * {@code idempotency_records} inside the movement's transaction. Results are also kept in a
+ * bounded in-memory cache, so a client retrying a request it never got an answer for is served
+ * without a database round trip or an account lock. Two requests racing with the same key both
+ * run, but the unique key lets only one commit; the other rolls back and returns the winner's
+ * result. Reusing a key for a different request is an error. Keys expire after
+ * {@code banking.idempotency.ttl} and are then purged.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private record CachedResult(String requestFingerprint, List<Transaction> transactions, LocalDateTime expiresAt) {
+    }
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionRepository transactionRepository;
+    private final MoneyMovementExecutor moneyMovementExecutor;
+    private final Duration ttl;
+    private final Cache<String, CachedResult> cache;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionRepository transactionRepository,
+                              MoneyMovementExecutor moneyMovementExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${banking.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${banking.idempotency.cache.max-size:100000}") long maxSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionRepository = transactionRepository;
+        this.moneyMovementExecutor = moneyMovementExecutor;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+    }
+
+    /**
+     * Returns the result recorded for {@code idempotencyKey}, or runs {@code work} under the account
+     * locks for {@code accountNumbers} and records its result.
+     *
+     * @param operation name of the mutation, part of the request fingerprint
+     * @param arguments the mutation's arguments, part of the request fingerprint
+     */
+    public List<Transaction> execute(String idempotencyKey, String operation, List<?> arguments,
+                                     Collection<String> accountNumbers, Supplier<List<Transaction>> work) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new BankingException("Idempotency key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(operation, arguments);
+
+        List<Transaction> previous = find(idempotencyKey, fingerprint);
+        if (previous != null) {
+            return previous;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions;
+        try {
+            transactions = moneyMovementExecutor.execute(accountNumbers, () -> {
+                List<Transaction> posted = work.get();
+                // Flushed here so a duplicate key fails this transaction, not a later one
+                idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(idempotencyKey, fingerprint,
+                        String.join(",", posted.stream().map(Transaction::getTransactionId).toList()),
+                        now, now.plus(ttl)));
+                return posted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first
+            List<Transaction> winner = find(idempotencyKey, fingerprint);
+            if (winner != null) {
+                return winner;
+            }
+            throw e;
+        }
+
+        cache.put(idempotencyKey, new CachedResult(fingerprint, transactions, now.plus(ttl)));
+        return transactions;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.cleanup-interval-ms:60000}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private List<Transaction> find(String idempotencyKey, String fingerprint) {
+        CachedResult cached = cache.getIfPresent(idempotencyKey);
+        if (cached == null) {
+            cached = load(idempotencyKey);
+        }
+        if (cached == null || cached.expiresAt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+        if (!cached.requestFingerprint().equals(fingerprint)) {
+            throw new BankingException("Idempotency key " + idempotencyKey + " was already used for a different request");
+        }
+        return cached.transactions();
+    }
+
+    private CachedResult load(String idempotencyKey) {
+        IdempotencyRecord record = idempotencyRecordRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (record == null) {
+            return null;
+        }
+        if (!record.getExpiresAt().isAfter(LocalDateTime.now())) {
+            // Not purged yet; free the key for the new request
+            idempotencyRecordRepository.delete(record);
+            return null;
+        }
+
+        List<String> transactionIds = Arrays.asList(record.getTransactionIds().split(","));
+        List<Transaction> transactions = transactionRepository.findByTransactionIdIn(transactionIds).stream()
+                .sorted(Comparator.comparingInt(transaction -> transactionIds.indexOf(transaction.getTransactionId())))
+                .toList();
+        CachedResult result = new CachedResult(record.getRequestFingerprint(), transactions, record.getExpiresAt());
+        cache.put(idempotencyKey, result);
+        return result;
+    }
+
+    private static String fingerprint(String operation, List<?> arguments) {
+        StringBuilder request = new StringBuilder(operation);
+        for (Object argument : arguments) {
+            // null as "", the way a missing description is stored
+            request.append('\u0000').append(argument instanceof BigDecimal amount
+                    ? amount.stripTrailingZeros().toPlainString() : Objects.toString(argument, ""));
+        }
+        return UUID.nameUUIDFromBytes(request.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.exception.BankingException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs balance read-modify-write operations in their own transaction under the configured
+ * concurrency mode:
+ * <ul>
+ *   <li>{@code NONE} - a single attempt; conflicting writers fail on the {@code @Version} check.</li>
+ *   <li>{@code OPTIMISTIC} - the transaction is retried up to {@code max-attempts} times when the
+ *       version check or a row lock fails.</li>
+ *   <li>{@code STRIPED} - as OPTIMISTIC, but writers to the same account are first serialized on an
+ *       in-process lock striped by account number. Stripes are always taken in ascending index
+ *       order, so crossing transfers (A to B and B to A) cannot deadlock.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class MoneyMovementExecutor {
+
+    public enum Mode {
+        NONE,
+        OPTIMISTIC,
+        STRIPED
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final int maxAttempts;
+
+    @Getter
+    @Setter
+    private volatile Mode mode;
+
+    public MoneyMovementExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${banking.concurrency.mode:STRIPED}") Mode mode,
+                                 @Value("${banking.concurrency.stripes:1024}") int stripeCount,
+                                 @Value("${banking.concurrency.max-attempts:5}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = mode;
+        this.maxAttempts = maxAttempts;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T execute(Collection<String> accountNumbers, Supplier<T> work) {
+        Mode currentMode = mode;
+        List<ReentrantLock> locks = currentMode == Mode.STRIPED ? stripesFor(accountNumbers) : List.of();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            int attempts = currentMode == Mode.NONE ? 1 : maxAttempts;
+            return executeWithRetry(work, attempts);
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private <T> T executeWithRetry(Supplier<T> work, int attempts) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= attempts) {
+                    throw new BankingException("Account was updated concurrently, please retry", e);
+                }
+                log.debug("Concurrent update on attempt {}, retrying", attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private List<ReentrantLock> stripesFor(Collection<String> accountNumbers) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String accountNumber : accountNumbers) {
+            int hash = accountNumber.hashCode();
+            indexes.add(((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length);
+        }
+        List<ReentrantLock> locks = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankingException("Interrupted while retrying a concurrent update", e);
+        }
+    }
+}
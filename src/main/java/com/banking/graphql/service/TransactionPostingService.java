@@ -0,0 +1,41 @@
+package com.banking.graphql.service;
+
+import com.banking.graphql.event.TransactionsPostedEvent;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.outbox.TransactionOutbox;
+import com.banking.graphql.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The single write path for Transaction rows. Every deposit, withdrawal and transfer, single,
+ * combined or batched, posts its rows here inside its money-movement transaction, so everything
+ * derived from postings is maintained in one place: balance snapshots, the outbox for downstream
+ * systems, and a {@link TransactionsPostedEvent} delivered to subscriptions once the transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionPostingService {
+
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final TransactionOutbox transactionOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Transaction post(Transaction posting) {
+        return post(List.of(posting)).get(0);
+    }
+
+    public List<Transaction> post(List<Transaction> postings) {
+        List<Transaction> saved = transactionRepository.saveAll(postings);
+        balanceSnapshotService.apply(saved);
+        transactionOutbox.append(saved);
+        eventPublisher.publishEvent(new TransactionsPostedEvent(saved.stream()
+                .map(posting -> new TransactionsPostedEvent.Posted(posting.getAccount().getAccountNumber(), posting))
+                .toList()));
+        return saved;
+    }
+}
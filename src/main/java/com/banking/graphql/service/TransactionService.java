@@ -4,16 +4,25 @@ import com.banking.graphql.exception.AccountNotFoundException;
 import com.banking.graphql.exception.BankingException;
 import com.banking.graphql.exception.InsufficientBalanceException;
 import com.banking.graphql.model.*;
+import com.banking.graphql.pagination.Connection;
+import com.banking.graphql.pagination.Cursors;
 import com.banking.graphql.repository.AccountRepository;
 import com.banking.graphql.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,15 +30,41 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final MoneyMovementExecutor moneyMovementExecutor;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final DepositCombiner depositCombiner;
+    private final AccountLookupCache accountLookupCache;
+    private final TransactionPostingService transactionPostingService;
+    private final IdempotencyService idempotencyService;
 
-    @Transactional
     public Transaction deposit(String accountNumber, BigDecimal amount, String description) {
+        return deposit(accountNumber, amount, description, null);
+    }
+
+    /**
+     * @param idempotencyKey optional; a retry with the same key returns the original transaction
+     */
+    public Transaction deposit(String accountNumber, BigDecimal amount, String description, String idempotencyKey) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BankingException("Deposit amount must be positive");
         }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+        if (idempotencyKey != null) {
+            // Keyed deposits skip write combining: their idempotency record is written in their own transaction
+            return idempotencyService.execute(idempotencyKey, "deposit", Arrays.asList(accountNumber, amount, description),
+                    List.of(accountNumber), () -> List.of(applyDeposit(accountNumber, amount, description))).get(0);
+        }
+
+        if (depositCombiner.isEnabled()) {
+            return depositCombiner.deposit(accountNumber, amount, description);
+        }
+
+        return moneyMovementExecutor.execute(List.of(accountNumber),
+                () -> applyDeposit(accountNumber, amount, description));
+    }
+
+    private Transaction applyDeposit(String accountNumber, BigDecimal amount, String description) {
+        Account account = loadAccount(accountNumber);
 
         if (account.getStatus() != AccountStatus.ACTIVE) {
             throw new BankingException("Account is not active");
@@ -38,21 +73,36 @@ public class TransactionService {
         account.setBalance(account.getBalance().add(amount));
         accountRepository.save(account);
 
-        String transactionId = generateTransactionId();
+        String transactionId = transactionIdGenerator.nextId();
         Transaction transaction = new Transaction(transactionId, TransactionType.DEPOSIT, 
                                                    amount, description, account, account.getBalance());
         
-        return transactionRepository.save(transaction);
+        return transactionPostingService.post(transaction);
     }
 
-    @Transactional
     public Transaction withdraw(String accountNumber, BigDecimal amount, String description) {
+        return withdraw(accountNumber, amount, description, null);
+    }
+
+    /**
+     * @param idempotencyKey optional; a retry with the same key returns the original transaction
+     */
+    public Transaction withdraw(String accountNumber, BigDecimal amount, String description, String idempotencyKey) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BankingException("Withdrawal amount must be positive");
         }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+        if (idempotencyKey != null) {
+            return idempotencyService.execute(idempotencyKey, "withdraw", Arrays.asList(accountNumber, amount, description),
+                    List.of(accountNumber), () -> List.of(applyWithdrawal(accountNumber, amount, description))).get(0);
+        }
+
+        return moneyMovementExecutor.execute(List.of(accountNumber),
+                () -> applyWithdrawal(accountNumber, amount, description));
+    }
+
+    private Transaction applyWithdrawal(String accountNumber, BigDecimal amount, String description) {
+        Account account = loadAccount(accountNumber);
 
         if (account.getStatus() != AccountStatus.ACTIVE) {
             throw new BankingException("Account is not active");
@@ -66,16 +116,23 @@ public class TransactionService {
         account.setBalance(account.getBalance().subtract(amount));
         accountRepository.save(account);
 
-        String transactionId = generateTransactionId();
+        String transactionId = transactionIdGenerator.nextId();
         Transaction transaction = new Transaction(transactionId, TransactionType.WITHDRAWAL, 
                                                    amount, description, account, account.getBalance());
         
-        return transactionRepository.save(transaction);
+        return transactionPostingService.post(transaction);
     }
 
-    @Transactional
     public List<Transaction> transfer(String fromAccountNumber, String toAccountNumber, 
                                       BigDecimal amount, String description) {
+        return transfer(fromAccountNumber, toAccountNumber, amount, description, null);
+    }
+
+    /**
+     * @param idempotencyKey optional; a retry with the same key returns the original transactions
+     */
+    public List<Transaction> transfer(String fromAccountNumber, String toAccountNumber,
+                                      BigDecimal amount, String description, String idempotencyKey) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BankingException("Transfer amount must be positive");
         }
@@ -84,10 +141,21 @@ public class TransactionService {
             throw new BankingException("Cannot transfer to the same account");
         }
 
-        Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(fromAccountNumber));
-        Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(toAccountNumber));
+        if (idempotencyKey != null) {
+            return idempotencyService.execute(idempotencyKey, "transfer",
+                    Arrays.asList(fromAccountNumber, toAccountNumber, amount, description),
+                    List.of(fromAccountNumber, toAccountNumber),
+                    () -> applyTransfer(fromAccountNumber, toAccountNumber, amount, description));
+        }
+
+        return moneyMovementExecutor.execute(List.of(fromAccountNumber, toAccountNumber),
+                () -> applyTransfer(fromAccountNumber, toAccountNumber, amount, description));
+    }
+
+    private List<Transaction> applyTransfer(String fromAccountNumber, String toAccountNumber,
+                                            BigDecimal amount, String description) {
+        Account fromAccount = loadAccount(fromAccountNumber);
+        Account toAccount = loadAccount(toAccountNumber);
 
         if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
             throw new BankingException("Source account is not active");
@@ -111,49 +179,87 @@ public class TransactionService {
         accountRepository.save(toAccount);
 
         // Create transfer-out transaction
-        String transactionId1 = generateTransactionId();
+        String transactionId1 = transactionIdGenerator.nextId();
         Transaction transferOut = new Transaction(transactionId1, TransactionType.TRANSFER_OUT, 
                                                    amount, description, fromAccount, fromAccount.getBalance());
         transferOut.setToAccountNumber(toAccountNumber);
         transferOut.setFromAccountNumber(fromAccountNumber);
-        transactionRepository.save(transferOut);
 
         // Create transfer-in transaction
-        String transactionId2 = generateTransactionId();
+        String transactionId2 = transactionIdGenerator.nextId();
         Transaction transferIn = new Transaction(transactionId2, TransactionType.TRANSFER_IN, 
                                                  amount, description, toAccount, toAccount.getBalance());
         transferIn.setToAccountNumber(toAccountNumber);
         transferIn.setFromAccountNumber(fromAccountNumber);
-        transactionRepository.save(transferIn);
 
-        return List.of(transferOut, transferIn);
+        return transactionPostingService.post(List.of(transferOut, transferIn));
     }
 
     @Transactional(readOnly = true)
     public List<Transaction> getTransactionHistory(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
-        return transactionRepository.findByAccountIdOrderByTimestampDesc(account.getId());
+        Long accountId = accountLookupCache.resolve(accountNumber).id();
+        return transactionRepository.findByAccountIdOrderByTimestampDesc(accountId);
+    }
+
+    /**
+     * Returns one page of an account's history, most recent first. Pages are read with a keyset
+     * condition on (timestamp, id) rather than an OFFSET, so deep pages cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public Connection<Transaction> getTransactionHistoryPage(String accountNumber, Integer first, String after) {
+        Long accountId = accountLookupCache.resolve(accountNumber).id();
+        int pageSize = Cursors.pageSize(first);
+        // Fetch one extra row to find out whether there is a next page
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Transaction> rows;
+        if (after == null) {
+            rows = transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(accountId, limit);
+        } else {
+            String[] keys = Cursors.decode(after, 2);
+            try {
+                rows = transactionRepository.findPageAfter(
+                    accountId, LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BankingException("Invalid cursor: " + after, e);
+            }
+        }
+        return Connection.of(rows, pageSize, after != null,
+                transaction -> Cursors.encode(transaction.getTimestamp(), transaction.getId()));
+    }
+
+    /**
+     * Loads the transactions of several accounts with a single IN query, grouped by account ID
+     * and ordered most recent first. Every requested ID is present in the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Transaction>> getTransactionsByAccountIds(Collection<Long> accountIds) {
+        Map<Long, List<Transaction>> transactionsByAccount = new HashMap<>();
+        accountIds.forEach(accountId -> transactionsByAccount.put(accountId, new ArrayList<>()));
+        for (Transaction transaction : transactionRepository.findByAccountIdInOrderByTimestampDesc(accountIds)) {
+            transactionsByAccount.get(transaction.getAccount().getId()).add(transaction);
+        }
+        return transactionsByAccount;
     }
 
     @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByType(String accountNumber, TransactionType type) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
-        return transactionRepository.findByAccountIdAndType(account.getId(), type);
+        Long accountId = accountLookupCache.resolve(accountNumber).id();
+        return transactionRepository.findByAccountIdAndType(accountId, type);
     }
 
     @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByDateRange(String accountNumber, 
                                                         LocalDateTime startDate, 
                                                         LocalDateTime endDate) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
+        Long accountId = accountLookupCache.resolve(accountNumber).id();
         return transactionRepository.findByAccountIdAndTimestampBetween(
-            account.getId(), startDate, endDate);
+            accountId, startDate, endDate);
     }
 
-    private String generateTransactionId() {
-        return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private Account loadAccount(String accountNumber) {
+        Long accountId = accountLookupCache.resolve(accountNumber).id();
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber));
     }
 }
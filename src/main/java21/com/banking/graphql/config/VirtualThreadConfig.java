@@ -0,0 +1,74 @@
+package com.banking.graphql.config;
+
+import com.banking.graphql.execution.RequestMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Virtual-thread execution mode. Only compiled with the {@code java21} Maven profile and only active
+ * with {@code banking.threads.virtual.enabled=true}.
+ *
+ * Tomcat handles every request on its own virtual thread, so a request blocked on JDBC no longer
+ * holds a platform thread. Asynchronous field fetching runs on virtual threads too, but at most
+ * {@code spring.datasource.hikari.maximum-pool-size} of them run at once: the rest wait on a
+ * semaphore, which costs nothing on a virtual thread, instead of timing out in Hikari's queue.
+ *
+ * A virtual thread blocking inside a {@code synchronized} block pins its carrier thread. The H2
+ * driver synchronizes on its session, so JDBC calls pin; bounding concurrent fetches to the pool size
+ * also bounds pinned carriers. Run with {@code -Djdk.tracePinnedThreads=short} (set by the profile for
+ * {@code spring-boot:run}) to see where pinning happens.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = GraphQlExecutionConfig.GRAPHQL_EXECUTOR, destroyMethod = "close")
+    public BoundedVirtualThreadExecutor graphQlExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConcurrentFetches) {
+        return new BoundedVirtualThreadExecutor(maxConcurrentFetches);
+    }
+
+    /**
+     * Starts a virtual thread per task and lets at most {@code maxConcurrent} tasks run at a time.
+     */
+    public static class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+        private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+        private final Semaphore permits;
+
+        public BoundedVirtualThreadExecutor(int maxConcurrent) {
+            this.permits = new Semaphore(maxConcurrent);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            Runnable task = RequestMetrics.propagate(command);
+            virtualThreads.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            virtualThreads.close();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+-- Migrates an existing database from IDENTITY ids to the pooled sequences used by
+-- PooledSequenceGenerator. Not needed with spring.jpa.hibernate.ddl-auto=create-drop,
+-- which creates the sequences itself.
+--
+-- Existing rows keep their ids. The pooled optimizer treats a sequence value V as the upper end
+-- of the block [V - allocation_size + 1, V], so each sequence must start at
+-- MAX(id) + allocation_size for the first new id to be MAX(id) + 1.
+-- INCREMENT BY must equal spring.jpa.properties.banking.id.allocation_size (50 by default).
+
+-- 1. Look up the start values:
+SELECT (SELECT COALESCE(MAX(id), 0) + 50 FROM customers)    AS customers_start,
+       (SELECT COALESCE(MAX(id), 0) + 50 FROM accounts)     AS accounts_start,
+       (SELECT COALESCE(MAX(id), 0) + 50 FROM transactions) AS transactions_start;
+
+-- 2. Create the sequences, replacing the START WITH values with the results of step 1:
+CREATE SEQUENCE customers_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE accounts_seq START WITH 50 INCREMENT BY 50;
+CREATE SEQUENCE transactions_seq START WITH 50 INCREMENT BY 50;
+
+-- 3. The id columns no longer generate values themselves (H2 syntax):
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE accounts ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY;
+
+-- 4. Account numbers are allocated in blocks by AccountNumberGenerator. New numbers are 10 digits
+--    starting with 1-9, while the older random ones all start with 0, so the sequence starts at 0.
+--    INCREMENT BY must equal AccountNumberGenerator.BLOCK_SIZE (1000):
+CREATE SEQUENCE account_number_seq START WITH 0 MINVALUE 0 INCREMENT BY 1000;
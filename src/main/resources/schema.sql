@@ -0,0 +1,3 @@
+-- Objects not mapped by any entity, created before Hibernate's schema generation.
+-- INCREMENT BY must equal AccountNumberGenerator.BLOCK_SIZE.
+CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 0 MINVALUE 0 INCREMENT BY 1000;
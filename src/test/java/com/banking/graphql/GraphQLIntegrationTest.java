@@ -1,5 +1,6 @@
 package com.banking.graphql;
 
+import com.banking.graphql.support.SqlBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
@@ -7,6 +8,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.graphql.test.tester.GraphQlTester;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @AutoConfigureGraphQlTester
@@ -15,6 +17,9 @@ public class GraphQLIntegrationTest {
     @Autowired
     private GraphQlTester graphQlTester;
 
+    @Autowired
+    private SqlBudget sqlBudget;
+
     @Test
     void testGetAllCustomers() {
         this.graphQlTester
@@ -154,4 +159,515 @@ public class GraphQLIntegrationTest {
                 assertThat(balance).isGreaterThanOrEqualTo(0.0);
             });
     }
+
+    @Test
+    void testNestedCustomerAccountsAndTransactions() {
+        this.graphQlTester
+            .document("""
+                query {
+                    getAllCustomers {
+                        name
+                        accounts {
+                            accountNumber
+                            customer {
+                                email
+                            }
+                            transactions {
+                                transactionId
+                                type
+                            }
+                        }
+                    }
+                }
+                """)
+            .execute()
+            .path("getAllCustomers[0].accounts[0].customer.email")
+            .entity(String.class)
+            .satisfies(email -> assertThat(email).isNotBlank())
+            .path("getAllCustomers[*].accounts[*].transactions[*].transactionId")
+            .entityList(String.class)
+            .hasSizeGreaterThan(0);
+    }
+
+    @Test
+    void testTransactionHistoryPagination() {
+        String accountNumber = this.graphQlTester
+            .document("""
+                query {
+                    getAllAccounts {
+                        accountNumber
+                    }
+                }
+                """)
+            .execute()
+            .path("getAllAccounts[0].accountNumber")
+            .entity(String.class)
+            .get();
+
+        String endCursor = this.graphQlTester
+            .document("""
+                query History($accountNumber: String!) {
+                    transactionHistory(accountNumber: $accountNumber, first: 1) {
+                        edges { node { transactionId } }
+                        pageInfo { hasNextPage endCursor }
+                    }
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .execute()
+            .path("transactionHistory.edges")
+            .entityList(Object.class)
+            .hasSize(1)
+            .path("transactionHistory.pageInfo.hasNextPage")
+            .entity(Boolean.class)
+            .isEqualTo(true)
+            .path("transactionHistory.pageInfo.endCursor")
+            .entity(String.class)
+            .get();
+
+        this.graphQlTester
+            .document("""
+                query History($accountNumber: String!, $after: String) {
+                    transactionHistory(accountNumber: $accountNumber, first: 100, after: $after) {
+                        edges { node { transactionId } }
+                        pageInfo { hasPreviousPage }
+                    }
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .variable("after", endCursor)
+            .execute()
+            .path("transactionHistory.edges")
+            .entityList(Object.class)
+            .hasSizeGreaterThan(0)
+            .path("transactionHistory.pageInfo.hasPreviousPage")
+            .entity(Boolean.class)
+            .isEqualTo(true);
+    }
+
+    @Test
+    void testCustomersPagination() {
+        String endCursor = this.graphQlTester
+            .document("""
+                query {
+                    customers(first: 2) {
+                        edges { cursor node { id name } }
+                        pageInfo { hasNextPage endCursor }
+                    }
+                }
+                """)
+            .execute()
+            .path("customers.edges")
+            .entityList(Object.class)
+            .hasSize(2)
+            .path("customers.pageInfo.endCursor")
+            .entity(String.class)
+            .get();
+
+        this.graphQlTester
+            .document("""
+                query Customers($after: String) {
+                    customers(first: 100, after: $after) {
+                        edges { node { id } }
+                    }
+                }
+                """)
+            .variable("after", endCursor)
+            .execute()
+            .path("customers.edges")
+            .entityList(Object.class)
+            .hasSizeGreaterThan(0);
+    }
+
+    @Test
+    void testBatchTransferAtomicAndPartial() {
+        var accountNumbers = this.graphQlTester
+            .document("""
+                query {
+                    getAllAccounts {
+                        accountNumber
+                    }
+                }
+                """)
+            .execute()
+            .path("getAllAccounts[*].accountNumber")
+            .entityList(String.class)
+            .get();
+        String from = accountNumbers.get(0);
+        String to = accountNumbers.get(1);
+
+        String document = """
+            mutation BatchTransfer($inputs: [TransferInput!]!, $atomic: Boolean) {
+                batchTransfer(inputs: $inputs, atomic: $atomic) {
+                    committed
+                    succeeded
+                    failed
+                    items { index success error transactions { type } }
+                }
+            }
+            """;
+        var inputs = java.util.List.of(
+            java.util.Map.of("fromAccountNumber", from, "toAccountNumber", to,
+                "amount", 1.0, "description", "Batch item"),
+            java.util.Map.of("fromAccountNumber", from, "toAccountNumber", from,
+                "amount", 1.0, "description", "Invalid batch item"));
+
+        this.graphQlTester.document(document)
+            .variable("inputs", inputs)
+            .variable("atomic", true)
+            .execute()
+            .path("batchTransfer.committed").entity(Boolean.class).isEqualTo(false)
+            .path("batchTransfer.succeeded").entity(Integer.class).isEqualTo(0);
+
+        this.graphQlTester.document(document)
+            .variable("inputs", inputs)
+            .variable("atomic", false)
+            .execute()
+            .path("batchTransfer.committed").entity(Boolean.class).isEqualTo(true)
+            .path("batchTransfer.succeeded").entity(Integer.class).isEqualTo(1)
+            .path("batchTransfer.items[0].transactions").entityList(Object.class).hasSize(2)
+            .path("batchTransfer.items[1].error").entity(String.class)
+            .isEqualTo("Cannot transfer to the same account");
+    }
+
+    @Test
+    void testQueryOverCostBudgetIsRejected() {
+        this.graphQlTester
+            .document("""
+                query {
+                    getAllCustomers {
+                        accounts {
+                            transactions { id }
+                            customer {
+                                accounts {
+                                    transactions { id }
+                                }
+                            }
+                        }
+                    }
+                }
+                """)
+            .execute()
+            .errors()
+            .satisfy(errors -> assertThat(errors)
+                .anyMatch(error -> "QUERY_TOO_COMPLEX".equals(error.getExtensions().get("code"))));
+    }
+
+    @Test
+    void testDashboardQueryWithConcurrentTopLevelFields() {
+        GraphQlTester.Response accounts = this.graphQlTester
+            .document("""
+                query {
+                    accounts(first: 1) {
+                        edges { node { accountNumber customer { id } } }
+                    }
+                }
+                """)
+            .execute();
+        String accountNumber = accounts.path("accounts.edges[0].node.accountNumber").entity(String.class).get();
+        String customerId = accounts.path("accounts.edges[0].node.customer.id").entity(String.class).get();
+
+        this.graphQlTester
+            .document("""
+                query Dashboard($accountNumber: String!, $customerId: ID!) {
+                    getBalance(accountNumber: $accountNumber)
+                    transactionHistory(accountNumber: $accountNumber, first: 5) {
+                        edges { node { transactionId } }
+                    }
+                    getAccountsByCustomerId(customerId: $customerId) { accountNumber }
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .variable("customerId", customerId)
+            .execute()
+            .errors().verify()
+            .path("getBalance").hasValue()
+            .path("transactionHistory.edges").hasValue()
+            .path("getAccountsByCustomerId[*].accountNumber").entityList(String.class).contains(accountNumber);
+    }
+
+    @Test
+    void testDailySummaryAndBalanceAt() {
+        String customerId = this.graphQlTester
+            .document("""
+                mutation CreateCustomer($input: CreateCustomerInput!) {
+                    createCustomer(input: $input) { id }
+                }
+                """)
+            .variable("input", java.util.Map.of(
+                "name", "Snapshot Customer",
+                "email", "snapshot" + System.nanoTime() + "@example.com",
+                "phone", "+1555000000",
+                "address", "1 Snapshot Road"))
+            .execute()
+            .path("createCustomer.id").entity(String.class).get();
+        GraphQlTester.Response created = this.graphQlTester
+            .document("""
+                mutation CreateAccount($input: CreateAccountInput!) {
+                    createAccount(input: $input) { accountNumber createdAt }
+                }
+                """)
+            .variable("input", java.util.Map.of(
+                "customerId", customerId, "accountType", "CHECKING", "initialDeposit", 100.0))
+            .execute();
+        String accountNumber = created.path("createAccount.accountNumber").entity(String.class).get();
+        java.time.LocalDateTime createdAt = java.time.LocalDateTime.parse(
+            created.path("createAccount.createdAt").entity(String.class).get());
+
+        this.graphQlTester
+            .document("""
+                mutation Movements($deposit: DepositInput!, $withdrawal: WithdrawInput!) {
+                    deposit(input: $deposit) { transactionId }
+                    withdraw(input: $withdrawal) { transactionId }
+                }
+                """)
+            .variable("deposit", java.util.Map.of(
+                "accountNumber", accountNumber, "amount", 50.0, "description", "Snapshot deposit"))
+            .variable("withdrawal", java.util.Map.of(
+                "accountNumber", accountNumber, "amount", 20.0, "description", "Snapshot withdrawal"))
+            .execute()
+            .errors().verify();
+
+        java.time.LocalDate today = java.time.LocalDate.now();
+        this.graphQlTester
+            .document("""
+                query Summary($accountNumber: String!, $from: String!, $to: String!, $now: String!, $before: String!,
+                              $beforeOpening: String!) {
+                    getDailySummary(accountNumber: $accountNumber, from: $from, to: $to) {
+                        openingBalance closingBalance creditTotal debitTotal turnover creditCount debitCount
+                    }
+                    now: getBalanceAt(accountNumber: $accountNumber, timestamp: $now)
+                    before: getBalanceAt(accountNumber: $accountNumber, timestamp: $before)
+                    beforeOpening: getBalanceAt(accountNumber: $accountNumber, timestamp: $beforeOpening)
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .variable("from", today.minusDays(1).toString())
+            .variable("to", today.toString())
+            .variable("now", java.time.LocalDateTime.now().plusMinutes(1).toString())
+            .variable("before", today.minusDays(1).atStartOfDay().toString())
+            // Same day as the opening snapshot, but before the account existed
+            .variable("beforeOpening", createdAt.minusNanos(1_000_000).toString())
+            .execute()
+            .path("getDailySummary").entityList(Object.class).hasSize(1)
+            .path("getDailySummary[0].openingBalance").entity(Double.class).isEqualTo(100.0)
+            .path("getDailySummary[0].closingBalance").entity(Double.class).isEqualTo(130.0)
+            .path("getDailySummary[0].turnover").entity(Double.class).isEqualTo(70.0)
+            .path("getDailySummary[0].creditCount").entity(Integer.class).isEqualTo(1)
+            .path("getDailySummary[0].debitCount").entity(Integer.class).isEqualTo(1)
+            .path("now").entity(Double.class).isEqualTo(130.0)
+            .path("before").entity(Double.class).isEqualTo(0.0)
+            .path("beforeOpening").entity(Double.class).isEqualTo(0.0);
+    }
+
+    @Test
+    void testSubscriptionsReceiveCommittedPostings() throws Exception {
+        String customerId = this.graphQlTester
+            .document("""
+                mutation CreateCustomer($input: CreateCustomerInput!) {
+                    createCustomer(input: $input) { id }
+                }
+                """)
+            .variable("input", java.util.Map.of(
+                "name", "Subscription Customer",
+                "email", "subscription" + System.nanoTime() + "@example.com",
+                "phone", "+1555000001",
+                "address", "1 Subscription Road"))
+            .execute()
+            .path("createCustomer.id").entity(String.class).get();
+        String accountNumber = this.graphQlTester
+            .document("""
+                mutation CreateAccount($input: CreateAccountInput!) {
+                    createAccount(input: $input) { accountNumber }
+                }
+                """)
+            .variable("input", java.util.Map.of(
+                "customerId", customerId, "accountType", "CHECKING", "initialDeposit", 100.0))
+            .execute()
+            .path("createAccount.accountNumber").entity(String.class).get();
+
+        java.util.concurrent.CompletableFuture<java.util.List<String>> postedTypes = this.graphQlTester
+            .document("""
+                subscription Posted($accountNumber: String!) {
+                    transactionPosted(accountNumber: $accountNumber) { type }
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .executeSubscription()
+            .toFlux("transactionPosted.type", String.class)
+            .take(2)
+            .collectList()
+            .toFuture();
+        java.util.concurrent.CompletableFuture<java.util.List<Double>> balances = this.graphQlTester
+            .document("""
+                subscription Balance($accountNumber: String!) {
+                    balanceChanged(accountNumber: $accountNumber) { balance }
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .executeSubscription()
+            .toFlux("balanceChanged.balance", Double.class)
+            .take(2)
+            .collectList()
+            .toFuture();
+
+        this.graphQlTester
+            .document("""
+                mutation Movements($deposit: DepositInput!, $withdrawal: WithdrawInput!) {
+                    deposit(input: $deposit) { transactionId }
+                    withdraw(input: $withdrawal) { transactionId }
+                }
+                """)
+            .variable("deposit", java.util.Map.of(
+                "accountNumber", accountNumber, "amount", 50.0, "description", "Subscription deposit"))
+            .variable("withdrawal", java.util.Map.of(
+                "accountNumber", accountNumber, "amount", 20.0, "description", "Subscription withdrawal"))
+            .execute()
+            .errors().verify();
+
+        assertThat(postedTypes.get(5, java.util.concurrent.TimeUnit.SECONDS))
+            .containsExactly("DEPOSIT", "WITHDRAWAL");
+        assertThat(balances.get(5, java.util.concurrent.TimeUnit.SECONDS))
+            .containsExactly(150.0, 130.0);
+    }
+
+    @Test
+    void testRetriedDepositWithIdempotencyKeyPostsOnce() {
+        String customerId = this.graphQlTester
+            .document("""
+                mutation CreateCustomer($input: CreateCustomerInput!) {
+                    createCustomer(input: $input) { id }
+                }
+                """)
+            .variable("input", java.util.Map.of(
+                "name", "Idempotency Customer",
+                "email", "idempotency" + System.nanoTime() + "@example.com",
+                "phone", "+1555000002",
+                "address", "1 Retry Road"))
+            .execute()
+            .path("createCustomer.id").entity(String.class).get();
+        String accountNumber = this.graphQlTester
+            .document("""
+                mutation CreateAccount($input: CreateAccountInput!) {
+                    createAccount(input: $input) { accountNumber }
+                }
+                """)
+            .variable("input", java.util.Map.of(
+                "customerId", customerId, "accountType", "CHECKING", "initialDeposit", 100.0))
+            .execute()
+            .path("createAccount.accountNumber").entity(String.class).get();
+
+        String deposit = """
+            mutation Deposit($input: DepositInput!) {
+                deposit(input: $input) { transactionId balanceAfter }
+            }
+            """;
+        java.util.Map<String, Object> input = java.util.Map.of(
+            "accountNumber", accountNumber, "amount", 25.0, "description", "Mobile deposit",
+            "idempotencyKey", "mobile-" + System.nanoTime());
+
+        String first = this.graphQlTester.document(deposit).variable("input", input)
+            .execute()
+            .path("deposit.transactionId").entity(String.class).get();
+        this.graphQlTester.document(deposit).variable("input", input)
+            .execute()
+            .path("deposit.transactionId").entity(String.class).isEqualTo(first)
+            .path("deposit.balanceAfter").entity(Double.class).isEqualTo(125.0);
+
+        // The same key with different arguments is rejected
+        java.util.Map<String, Object> changed = new java.util.HashMap<>(input);
+        changed.put("amount", 30.0);
+        this.graphQlTester.document(deposit).variable("input", changed)
+            .execute()
+            .errors()
+            .satisfy(errors -> assertThat(errors).isNotEmpty());
+
+        this.graphQlTester
+            .document("""
+                query Balance($accountNumber: String!) {
+                    getBalance(accountNumber: $accountNumber)
+                }
+                """)
+            .variable("accountNumber", accountNumber)
+            .execute()
+            .path("getBalance").entity(Double.class).isEqualTo(125.0);
+    }
+
+    @Test
+    void testNestedQueriesSendOneStatementPerLevel() {
+        // Customers, one batch for their accounts, one for the accounts' transactions
+        sqlBudget.exactly(3, () -> this.graphQlTester
+            .document("""
+                query {
+                    getAllCustomers {
+                        name
+                        accounts {
+                            accountNumber
+                            transactions { transactionId }
+                        }
+                    }
+                }
+                """)
+            .execute()
+            .path("getAllCustomers[*].accounts[*].accountNumber").entityList(String.class).hasSizeGreaterThan(1));
+
+        // Accounts, one batch for their customers
+        sqlBudget.exactly(2, () -> this.graphQlTester
+            .document("""
+                query {
+                    getAllAccounts {
+                        accountNumber
+                        customer { name }
+                    }
+                }
+                """)
+            .execute()
+            .path("getAllAccounts[*].customer.name").entityList(String.class).hasSizeGreaterThan(1));
+    }
+
+    @Test
+    void testSqlBudgetListsTheStatementsWhenExceeded() {
+        assertThatThrownBy(() -> sqlBudget.atMost(0, () -> this.graphQlTester
+                .document("""
+                    query { getAllAccounts { accountNumber } }
+                    """)
+                .execute()
+                .errors().verify()))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("Expected at most 0 SQL statements but 1 were sent")
+            .hasMessageContaining("accounts");
+    }
+
+    @Test
+    void testPersistedQueriesByHash() throws Exception {
+        String query = "query Persisted" + System.nanoTime() + " { getAllCustomers { id } }";
+        String hash = java.util.HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256")
+            .digest(query.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+
+        // Unknown hash: the client is told to resend the full query
+        this.graphQlTester.document("")
+            .extension("persistedQuery", java.util.Map.of("version", 1, "sha256Hash", hash))
+            .execute()
+            .errors()
+            .satisfy(errors -> assertThat(errors).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("PersistedQueryNotFound")));
+
+        // Query text with a hash that does not match it
+        this.graphQlTester.document(query)
+            .extension("persistedQuery", java.util.Map.of("version", 1, "sha256Hash", "0".repeat(64)))
+            .execute()
+            .errors()
+            .satisfy(errors -> assertThat(errors).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("PersistedQueryIdInvalid")));
+
+        // Registered with the full query, then served by hash alone
+        this.graphQlTester.document(query)
+            .extension("persistedQuery", java.util.Map.of("version", 1, "sha256Hash", hash))
+            .execute()
+            .path("getAllCustomers").entityList(Object.class).hasSizeGreaterThan(0);
+        this.graphQlTester.document("")
+            .extension("persistedQuery", java.util.Map.of("version", 1, "sha256Hash", hash))
+            .execute()
+            .path("getAllCustomers").entityList(Object.class).hasSizeGreaterThan(0);
+    }
 }
@@ -0,0 +1,130 @@
+package com.banking.graphql;
+
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.ExportService;
+import com.banking.graphql.service.TransactionService;
+import com.banking.graphql.support.SqlStatementRecorder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that Customer and Account reads are served from the second-level cache and that a
+ * cached account never returns a stale balance.
+ *
+ * Statements are counted on the test's thread: the outbox relay keeps polling in the background
+ * and would show up in the SessionFactory's statistics.
+ */
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    void repeatedGetCustomerByIdSkipsTheDatabase() {
+        Customer customer = customerService.createCustomer("Cache Test",
+                "cache.test." + System.nanoTime() + "@example.com", "+1111111111", "1 Cache Street");
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        sqlStatementRecorder.start();
+        customerService.getCustomerById(customer.getId());
+        int firstCall = sqlStatementRecorder.stop().size();
+
+        sqlStatementRecorder.start();
+        customerService.getCustomerById(customer.getId());
+        customerService.getCustomerById(customer.getId());
+        int repeatedCalls = sqlStatementRecorder.stop().size();
+
+        assertThat(firstCall).isEqualTo(1);
+        assertThat(repeatedCalls).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void repeatedGetCustomerByEmailUsesTheQueryCache() {
+        String email = "query.cache." + System.nanoTime() + "@example.com";
+        customerService.createCustomer("Query Cache Test", email, "+2222222222", "2 Cache Street");
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        sqlStatementRecorder.start();
+        customerService.getCustomerByEmail(email);
+        int firstCall = sqlStatementRecorder.stop().size();
+
+        sqlStatementRecorder.start();
+        customerService.getCustomerByEmail(email);
+        int secondCall = sqlStatementRecorder.stop().size();
+
+        assertThat(firstCall).isEqualTo(1);
+        assertThat(secondCall).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exportsLeaveTheCacheAlone() {
+        Customer customer = customerService.createCustomer("Export Cache Test",
+                "export.cache." + System.nanoTime() + "@example.com", "+4444444444", "4 Cache Street");
+        Account account = accountService.createAccount(customer.getId(), AccountType.CHECKING, new BigDecimal("100.00"));
+        sessionFactory.getCache().evictAllRegions();
+
+        exportService.exportCustomers(new StringWriter());
+        exportService.exportAccounts(new StringWriter());
+
+        assertThat(sessionFactory.getCache().containsEntity(Customer.class, customer.getId())).isFalse();
+        assertThat(sessionFactory.getCache().containsEntity(Account.class, account.getId())).isFalse();
+    }
+
+    @Test
+    void cachedAccountReflectsBalanceUpdates() {
+        Customer customer = customerService.createCustomer("Balance Cache Test",
+                "balance.cache." + System.nanoTime() + "@example.com", "+3333333333", "3 Cache Street");
+        Account account = accountService.createAccount(customer.getId(), AccountType.CHECKING, new BigDecimal("100.00"));
+
+        // Warm the cache, then change the balance
+        accountService.getAccountByNumber(account.getAccountNumber());
+        transactionService.deposit(account.getAccountNumber(), new BigDecimal("25.00"), "Deposit");
+        transactionService.withdraw(account.getAccountNumber(), new BigDecimal("5.00"), "Withdrawal");
+
+        assertThat(accountService.getAccountByNumber(account.getAccountNumber()).getBalance())
+                .isEqualByComparingTo("120.00");
+    }
+}
@@ -0,0 +1,311 @@
+package com.banking.graphql;
+
+import com.banking.graphql.exception.BankingException;
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.BalanceSnapshot;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.model.Transaction;
+import com.banking.graphql.repository.BalanceSnapshotRepository;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.DepositCombiner;
+import com.banking.graphql.service.MoneyMovementExecutor;
+import com.banking.graphql.service.MoneyMovementExecutor.Mode;
+import com.banking.graphql.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Hammers the same accounts from several threads under each concurrency mode and checks that
+ * no update is lost. Throughput per mode is logged for comparison.
+ */
+@SpringBootTest
+public class TransactionConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionConcurrencyTest.class);
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 25;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final String CONCURRENT_UPDATE = "Account was updated concurrently, please retry";
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MoneyMovementExecutor moneyMovementExecutor;
+
+    @Autowired
+    private DepositCombiner depositCombiner;
+
+    @SpyBean
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Mode originalMode;
+
+    @BeforeEach
+    void rememberMode() {
+        originalMode = moneyMovementExecutor.getMode();
+    }
+
+    @AfterEach
+    void restoreMode() {
+        moneyMovementExecutor.setMode(originalMode);
+        depositCombiner.setEnabled(false);
+    }
+
+    @Test
+    void stripedModeAppliesEveryDepositToAHotAccount() throws Exception {
+        Account account = newAccount();
+
+        int succeeded = concurrentDeposits(Mode.STRIPED, account.getAccountNumber());
+
+        assertThat(succeeded).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+        assertThat(balanceOf(account)).isEqualByComparingTo(expectedBalance(succeeded));
+    }
+
+    @Test
+    void optimisticAndUnguardedModesNeverLoseUpdates() throws Exception {
+        for (Mode mode : List.of(Mode.OPTIMISTIC, Mode.NONE)) {
+            Account account = newAccount();
+
+            int succeeded = concurrentDeposits(mode, account.getAccountNumber());
+
+            // Conflicting writers may be rejected, but every accepted deposit must be in the balance
+            assertThat(succeeded).as("%s deposits accepted", mode).isPositive();
+            assertThat(balanceOf(account)).isEqualByComparingTo(expectedBalance(succeeded));
+        }
+    }
+
+    @Test
+    void writeCombiningGivesEachDepositItsOwnBalanceAfter() throws Exception {
+        depositCombiner.setEnabled(true);
+        Account account = newAccount();
+        Set<BigDecimal> balancesAfter = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    Transaction deposit = transactionService.deposit(
+                            account.getAccountNumber(), AMOUNT, "Combined deposit");
+                    balancesAfter.add(deposit.getBalanceAfter());
+                }
+            }));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        int deposits = THREADS * OPERATIONS_PER_THREAD;
+        log.info("Write combining: {} deposits, {} ops/s", deposits, Math.round(deposits / seconds));
+
+        assertThat(balanceOf(account)).isEqualByComparingTo(expectedBalance(deposits));
+        // Every caller saw a distinct running balance, ending at the final balance
+        assertThat(balancesAfter).hasSize(deposits);
+        assertThat(balancesAfter.stream().max(BigDecimal::compareTo).orElseThrow())
+                .isEqualByComparingTo(expectedBalance(deposits));
+    }
+
+    @Test
+    void crossingTransfersDoNotDeadlockAndConserveMoney() throws Exception {
+        moneyMovementExecutor.setMode(Mode.STRIPED);
+        Account first = newAccount();
+        Account second = newAccount();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean forward = t % 2 == 0;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    if (forward) {
+                        transactionService.transfer(first.getAccountNumber(), second.getAccountNumber(), AMOUNT, "A to B");
+                    } else {
+                        transactionService.transfer(second.getAccountNumber(), first.getAccountNumber(), AMOUNT, "B to A");
+                    }
+                }
+            }));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // Equal numbers of transfers ran in each direction
+        assertThat(balanceOf(first)).isEqualByComparingTo(INITIAL_BALANCE);
+        assertThat(balanceOf(second)).isEqualByComparingTo(INITIAL_BALANCE);
+    }
+
+    @Test
+    void concurrentRetriesWithOneIdempotencyKeyPostOnce() throws Exception {
+        moneyMovementExecutor.setMode(Mode.STRIPED);
+        Account account = newAccount();
+        String idempotencyKey = "retry-" + System.nanoTime();
+        Set<String> transactionIds = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> transactionIds.add(transactionService.deposit(
+                    account.getAccountNumber(), AMOUNT, "Retried deposit", idempotencyKey).getTransactionId())));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        assertThat(transactionIds).hasSize(1);
+        assertThat(balanceOf(account)).isEqualByComparingTo(expectedBalance(1));
+    }
+
+    @Test
+    void concurrentFirstPostingsOfTheDayBothSucceed() throws Exception {
+        moneyMovementExecutor.setMode(Mode.OPTIMISTIC);
+        Account account = newAccount();
+        LocalDate today = LocalDate.now();
+        // As if the account had been opened yesterday, so today has no snapshot yet
+        jdbcTemplate.update("UPDATE balance_snapshots SET snapshot_date = ? WHERE account_id = ?",
+                today.minusDays(1), account.getId());
+        // Both postings look for today's snapshot before either has inserted it
+        CountDownLatch lookups = new CountDownLatch(2);
+        // A spied repository proxy reaches the repository through its default answer, not callRealMethod
+        Answer<?> repository = mockingDetails(balanceSnapshotRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object snapshots = repository.answer(invocation);
+            lookups.countDown();
+            lookups.await(10, TimeUnit.SECONDS);
+            return snapshots;
+        }).when(balanceSnapshotRepository).findByAccountIdInAndSnapshotDate(any(), any());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<Future<Transaction>> futures = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            futures.add(pool.submit(() -> transactionService.deposit(
+                    account.getAccountNumber(), AMOUNT, "First deposit of the day")));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<Transaction> future : futures) {
+            future.get();
+        }
+
+        assertThat(balanceOf(account)).isEqualByComparingTo(expectedBalance(2));
+        BalanceSnapshot snapshot = balanceSnapshotRepository
+                .findByAccountIdInAndSnapshotDate(List.of(account.getId()), today).get(0);
+        assertThat(snapshot.getOpeningBalance()).isEqualByComparingTo(INITIAL_BALANCE);
+        assertThat(snapshot.getClosingBalance()).isEqualByComparingTo(expectedBalance(2));
+        assertThat(snapshot.getCreditCount()).isEqualTo(2);
+    }
+
+    @Test
+    void retriesWithoutADescriptionPostOnce() {
+        Account account = newAccount();
+        String idempotencyKey = "no-description-" + System.nanoTime();
+
+        Transaction first = transactionService.deposit(account.getAccountNumber(), AMOUNT, null, idempotencyKey);
+        Transaction retry = transactionService.deposit(account.getAccountNumber(), AMOUNT, null, idempotencyKey);
+        Transaction emptyRetry = transactionService.deposit(account.getAccountNumber(), AMOUNT, "", idempotencyKey);
+
+        assertThat(first.getDescription()).isEmpty();
+        assertThat(retry.getTransactionId()).isEqualTo(first.getTransactionId());
+        assertThat(emptyRetry.getTransactionId()).isEqualTo(first.getTransactionId());
+        assertThat(balanceOf(account)).isEqualByComparingTo(expectedBalance(1));
+    }
+
+    /**
+     * Runs the deposits and returns how many were accepted. Only a deposit rejected as a concurrent
+     * update counts as expected; any other failure fails the test.
+     */
+    private int concurrentDeposits(Mode mode, String accountNumber) throws Exception {
+        moneyMovementExecutor.setMode(mode);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    try {
+                        transactionService.deposit(accountNumber, AMOUNT, "Concurrent deposit");
+                        succeeded.incrementAndGet();
+                    } catch (BankingException e) {
+                        if (!CONCURRENT_UPDATE.equals(e.getMessage())) {
+                            throw e;
+                        }
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        log.info("{} mode: {} succeeded, {} rejected, {} ops/s", mode, succeeded.get(), rejected.get(),
+                Math.round(succeeded.get() / seconds));
+        return succeeded.get();
+    }
+
+    private Account newAccount() {
+        Customer customer = customerService.createCustomer("Concurrency Test",
+                "concurrency" + System.nanoTime() + "@example.com", "+1000000000", "Test Address");
+        return accountService.createAccount(customer.getId(), AccountType.BUSINESS, INITIAL_BALANCE);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountService.getBalance(account.getAccountNumber());
+    }
+
+    private static BigDecimal expectedBalance(int deposits) {
+        return INITIAL_BALANCE.add(AMOUNT.multiply(BigDecimal.valueOf(deposits)));
+    }
+}
@@ -0,0 +1,167 @@
+package com.banking.graphql;
+
+import com.banking.graphql.model.TransactionType;
+import com.banking.graphql.repository.AccountRepository;
+import com.banking.graphql.repository.BalanceSnapshotRepository;
+import com.banking.graphql.repository.CustomerRepository;
+import com.banking.graphql.repository.IdempotencyRecordRepository;
+import com.banking.graphql.repository.TransactionRepository;
+import com.banking.graphql.support.SqlStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every lookup finder, EXPLAINs the SQL Hibernate generated for it and fails if H2 plans a
+ * full table scan. Finders that read whole tables on purpose (findAll, streamAll, findByStatus)
+ * are not covered.
+ */
+@SpringBootTest
+public class TransactionIndexUsageTest {
+
+    private static final Long ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findersDoNotScanWholeTables() {
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("findByAccountId", () -> transactionRepository.findByAccountId(ID));
+        finders.put("findByAccountIdOrderByTimestampDesc",
+                () -> transactionRepository.findByAccountIdOrderByTimestampDesc(ID));
+        finders.put("findByAccountIdInOrderByTimestampDesc",
+                () -> transactionRepository.findByAccountIdInOrderByTimestampDesc(List.of(ID, 2L)));
+        finders.put("findByAccountIdOrderByTimestampDescIdDesc",
+                () -> transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(ID, PageRequest.of(0, 21)));
+        finders.put("findPageAfter",
+                () -> transactionRepository.findPageAfter(ID, NOW, ID, PageRequest.of(0, 21)));
+        finders.put("findByAccountIdAndType",
+                () -> transactionRepository.findByAccountIdAndType(ID, TransactionType.DEPOSIT));
+        finders.put("findByAccountIdAndTimestampBetween",
+                () -> transactionRepository.findByAccountIdAndTimestampBetween(ID, NOW.minusDays(30), NOW));
+        finders.put("findFirstByAccountIdAndTimestampBetweenOrderByTimestampDescIdDesc",
+                () -> transactionRepository.findFirstByAccountIdAndTimestampBetweenOrderByTimestampDescIdDesc(
+                        ID, NOW.minusDays(1), NOW));
+        finders.put("findFirstByAccountIdAndTimestampLessThanEqualOrderByTimestampDescIdDesc",
+                () -> transactionRepository.findFirstByAccountIdAndTimestampLessThanEqualOrderByTimestampDescIdDesc(
+                        ID, NOW));
+        finders.put("findByTransactionIdIn",
+                () -> transactionRepository.findByTransactionIdIn(List.of("TXN-1", "TXN-2")));
+        finders.put("findByIdempotencyKey", () -> idempotencyRecordRepository.findByIdempotencyKey("key"));
+        finders.put("findByAccountNumber", () -> accountRepository.findByAccountNumber("0000000000"));
+        finders.put("findByAccountNumberIn", () -> accountRepository.findByAccountNumberIn(List.of("0000000000")));
+        finders.put("findByCustomerIdIn", () -> accountRepository.findByCustomerIdIn(List.of(ID)));
+        finders.put("accounts.findByIdGreaterThanOrderByIdAsc",
+                () -> accountRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 21)));
+        finders.put("existsByEmail", () -> customerRepository.existsByEmail("nobody@example.com"));
+        finders.put("customers.findByIdGreaterThanOrderByIdAsc",
+                () -> customerRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 21)));
+        finders.put("findByAccountIdInAndSnapshotDate",
+                () -> balanceSnapshotRepository.findByAccountIdInAndSnapshotDate(List.of(ID), LocalDate.now()));
+        finders.put("findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc",
+                () -> balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+                        ID, LocalDate.now()));
+        finders.put("findByAccountIdAndSnapshotDateBetweenOrderBySnapshotDateAsc",
+                () -> balanceSnapshotRepository.findByAccountIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+                        ID, LocalDate.now().minusDays(30), LocalDate.now()));
+
+        List<String> fullScans = new ArrayList<>();
+        finders.forEach((name, finder) -> {
+            sqlStatementRecorder.start();
+            finder.run();
+            for (String sql : sqlStatementRecorder.stop()) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    fullScans.add(name + ":\n" + plan);
+                }
+            }
+        });
+
+        assertThat(fullScans).as("finders planned as full table scans").isEmpty();
+    }
+
+    /**
+     * H2 always creates its own single-column index for the account_id foreign key, and only credits an
+     * index for ORDER BY when the sort starts at its first column, so it seeks the account's rows through
+     * the foreign-key index and sorts them rather than reading idx_transactions_account_timestamp in
+     * order. Databases that reuse the composite index for the foreign key (PostgreSQL, MySQL) read the
+     * page straight off it. What holds on H2 is asserted: a seek on account_id, never a scan.
+     */
+    @Test
+    void historyQueriesSeekTheAccountsRows() {
+        sqlStatementRecorder.start();
+        transactionRepository.findByAccountIdOrderByTimestampDescIdDesc(ID, PageRequest.of(0, 21));
+        transactionRepository.findPageAfter(ID, NOW, ID, PageRequest.of(0, 21));
+        List<String> statements = sqlStatementRecorder.stop();
+
+        assertThat(statements).hasSize(2);
+        for (String sql : statements) {
+            assertThat(explain(sql))
+                    .doesNotContain("tableScan")
+                    .containsPattern("/\\* PUBLIC\\.\\w+: ACCOUNT_ID = ");
+        }
+    }
+
+    @Test
+    void typeQueriesUseTheAccountTypeIndex() {
+        sqlStatementRecorder.start();
+        transactionRepository.findByAccountIdAndType(ID, TransactionType.DEPOSIT);
+        List<String> statements = sqlStatementRecorder.stop();
+
+        assertThat(statements).hasSize(1);
+        assertThat(explain(statements.get(0))).containsIgnoringCase("IDX_TRANSACTIONS_ACCOUNT_TYPE_TIMESTAMP");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan does not depend on the bound values, but H2 requires every parameter to be set
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
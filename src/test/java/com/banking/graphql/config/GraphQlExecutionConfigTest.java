@@ -0,0 +1,27 @@
+package com.banking.graphql.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GraphQlExecutionConfigTest {
+
+    // As in a build without the java21 profile, whatever JDK runs the test
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withClassLoader(new FilteredClassLoader("com.banking.graphql.config.VirtualThreadConfig"))
+            .withUserConfiguration(GraphQlExecutionConfig.VirtualThreadsUnavailable.class);
+
+    @Test
+    void virtualThreadsWithoutTheJava21BuildFailAtStartup() {
+        contextRunner.withPropertyValues("banking.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("build with -Pjava21"));
+    }
+
+    @Test
+    void platformThreadsStartWithoutIt() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed());
+    }
+}
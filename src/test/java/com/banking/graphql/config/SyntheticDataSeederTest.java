@@ -0,0 +1,93 @@
+package com.banking.graphql.config;
+
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.service.AccountNumberGenerator;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "banking.seed.mode=synthetic",
+        "banking.seed.synthetic.customers=50",
+        "banking.seed.synthetic.accounts-per-customer=2",
+        "banking.seed.synthetic.transactions=2000",
+        "banking.seed.synthetic.hot-account-fraction=0.1",
+        "banking.seed.synthetic.hot-transaction-share=0.5",
+        "banking.seed.synthetic.history-days=30",
+        "banking.seed.synthetic.chunk-size=7",
+        "banking.seed.synthetic.batch-size=64",
+        "banking.seed.synthetic.threads=3"
+})
+public class SyntheticDataSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void loadsTheConfiguredScaleWithSkew() {
+        assertThat(count("SELECT COUNT(*) FROM customers")).isEqualTo(50);
+        assertThat(count("SELECT COUNT(*) FROM accounts")).isEqualTo(100);
+        assertThat(count("SELECT COUNT(*) FROM transactions")).isBetween(1900L, 2000L);
+
+        List<Long> perAccount = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM transactions GROUP BY account_id ORDER BY COUNT(*) DESC", Long.class);
+        assertThat(perAccount.get(0)).isGreaterThan(perAccount.get(perAccount.size() - 1) * 2);
+    }
+
+    @Test
+    void balancesMatchTheirHistory() {
+        Long mismatches = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM accounts a WHERE a.balance <> "
+                        + "(SELECT t.balance_after FROM transactions t WHERE t.account_id = a.id "
+                        + "ORDER BY t.timestamp DESC, t.id DESC LIMIT 1)", Long.class);
+        assertThat(mismatches).isZero();
+
+        Long badSnapshots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balance_snapshots "
+                        + "WHERE closing_balance <> opening_balance + credit_total - debit_total", Long.class);
+        assertThat(badSnapshots).isZero();
+
+        List<String> accountNumbers = jdbcTemplate.queryForList("SELECT account_number FROM accounts", String.class);
+        assertThat(accountNumbers).doesNotHaveDuplicates().allMatch(AccountNumberGenerator::hasValidCheckDigit);
+    }
+
+    // Adds rows to the seeded data, so the other tests get a freshly seeded context
+    @Test
+    @DirtiesContext
+    void servicesContinueAfterTheSeededRows() {
+        Customer customer = customerService.createCustomer("After Seed",
+                "after.seed." + System.nanoTime() + "@example.com", "+1000000000", "1 Seed Street");
+        Account account = accountService.createAccount(customer.getId(), AccountType.SAVINGS, new BigDecimal("10.00"));
+        transactionService.deposit(account.getAccountNumber(), new BigDecimal("5.00"), "Deposit");
+
+        assertThat(customer.getId()).isGreaterThan(50L);
+        assertThat(account.getId()).isGreaterThan(100L);
+        assertThat(accountService.getAccountByNumber(account.getAccountNumber()).getBalance())
+                .isEqualByComparingTo("15.00");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
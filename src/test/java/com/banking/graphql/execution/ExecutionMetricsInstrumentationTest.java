@@ -0,0 +1,89 @@
+package com.banking.graphql.execution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class ExecutionMetricsInstrumentationTest {
+
+    private static final String ACCOUNTS_WITH_CUSTOMERS = """
+            query { getAllAccounts { accountNumber customer { name } } }
+            """;
+
+    private static final String CUSTOMERS_WITH_HISTORY = """
+            query { getAllCustomers { name accounts { accountNumber transactions { transactionId } } } }
+            """;
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void debugRequestsReturnFieldTimingsAndSqlCounts() {
+        ExecutionGraphQlResponse response = execute(ACCOUNTS_WITH_CUSTOMERS, true);
+
+        assertThat(response.getErrors()).isEmpty();
+        Map<String, Object> timing = (Map<String, Object>) response.getExecutionResult().getExtensions().get("timing");
+        assertThat(timing).containsKeys("durationMs", "sql", "fields");
+        // The accounts, then one batch for their customers
+        assertThat(statements(response)).isEqualTo(2);
+        assertThat((Map<String, Object>) timing.get("fields")).containsKeys("Query.getAllAccounts", "Account.customer");
+    }
+
+    @Test
+    void dataLoaderBatchesAreCountedAtEveryLevel() {
+        ExecutionGraphQlResponse response = execute(CUSTOMERS_WITH_HISTORY, true);
+
+        assertThat(response.getErrors()).isEmpty();
+        // Customers, one batch for their accounts and one for the accounts' transactions
+        assertThat(statements(response)).isEqualTo(3);
+    }
+
+    @Test
+    void otherRequestsOnlyRecordMetrics() {
+        long fetchesBefore = fieldCount("getAllAccounts");
+
+        ExecutionGraphQlResponse response = execute(ACCOUNTS_WITH_CUSTOMERS, false);
+
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(response.getExecutionResult().getExtensions()).doesNotContainKey("timing");
+        assertThat(fieldCount("getAllAccounts")).isEqualTo(fetchesBefore + 1);
+        assertThat(meterRegistry.get("banking.graphql.request.sql.statements").tag("operation", "query")
+                .summary().count()).isPositive();
+        assertThat(meterRegistry.get("banking.jdbc.statements").timer().count()).isPositive();
+    }
+
+    private ExecutionGraphQlResponse execute(String document, boolean debug) {
+        DefaultExecutionGraphQlRequest request = new DefaultExecutionGraphQlRequest(
+                document, null, null, null, UUID.randomUUID().toString(), null);
+        if (debug) {
+            request.configureExecutionInput((input, builder) ->
+                    builder.graphQLContext(Map.of(ExecutionMetricsInstrumentation.DEBUG, true)).build());
+        }
+        return graphQlService.execute(request).block();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long statements(ExecutionGraphQlResponse response) {
+        Map<String, Object> timing = (Map<String, Object>) response.getExecutionResult().getExtensions().get("timing");
+        return (Long) ((Map<String, Object>) timing.get("sql")).get("statements");
+    }
+
+    private long fieldCount(String field) {
+        var timer = meterRegistry.find("banking.graphql.field").tag("field", field).timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
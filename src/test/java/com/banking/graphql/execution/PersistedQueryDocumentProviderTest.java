@@ -0,0 +1,101 @@
+package com.banking.graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistedQueryDocumentProviderTest {
+
+    private static final String QUERY = "query { getAllCustomers { id name } }";
+
+    private PersistedQueryDocumentProvider provider;
+    private AtomicInteger parses;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+    @BeforeEach
+    void setUp() {
+        provider = new PersistedQueryDocumentProvider(new SimpleMeterRegistry(), 100, 100);
+        parses = new AtomicInteger();
+        parseAndValidate = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+    }
+
+    @Test
+    void repeatedQueryIsParsedOnce() {
+        PreparsedDocumentEntry first = provider.getDocumentAsync(input(QUERY, null), parseAndValidate).join();
+        PreparsedDocumentEntry second = provider.getDocumentAsync(input(QUERY, null), parseAndValidate).join();
+
+        assertThat(parses.get()).isEqualTo(1);
+        assertThat(second.getDocument()).isSameAs(first.getDocument());
+    }
+
+    @Test
+    void documentsWithErrorsAreNotCached() {
+        Function<ExecutionInput, PreparsedDocumentEntry> failing = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build());
+        };
+
+        provider.getDocumentAsync(input(QUERY, null), failing).join();
+        provider.getDocumentAsync(input(QUERY, null), failing).join();
+
+        assertThat(parses.get()).isEqualTo(2);
+    }
+
+    @Test
+    void hashOnlyRequestForUnknownHashIsNotFound() {
+        String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(input("", hash), parseAndValidate).join();
+
+        assertThat(entry.hasErrors()).isTrue();
+        assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+        assertThat(parses.get()).isZero();
+    }
+
+    @Test
+    void hashOnlyRequestIsServedAfterRegistration() {
+        String hash = PersistedQueryDocumentProvider.sha256(QUERY);
+
+        PreparsedDocumentEntry registered = provider.getDocumentAsync(input(QUERY, hash), parseAndValidate).join();
+        PreparsedDocumentEntry byHash = provider.getDocumentAsync(input("", hash.toUpperCase()), parseAndValidate).join();
+
+        assertThat(registered.hasErrors()).isFalse();
+        assertThat(byHash.hasErrors()).isFalse();
+        assertThat(byHash.getDocument()).isSameAs(registered.getDocument());
+        assertThat(parses.get()).isEqualTo(1);
+    }
+
+    @Test
+    void mismatchedHashIsRejected() {
+        String otherHash = PersistedQueryDocumentProvider.sha256("query { getAllAccounts { id } }");
+
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(input(QUERY, otherHash), parseAndValidate).join();
+
+        assertThat(entry.hasErrors()).isTrue();
+        assertThat(entry.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryIdInvalid");
+        assertThat(provider.getDocumentAsync(input("", otherHash), parseAndValidate).join().getErrors().get(0).getMessage())
+                .isEqualTo("PersistedQueryNotFound");
+    }
+
+    private static ExecutionInput input(String query, String hash) {
+        ExecutionInput.Builder builder = ExecutionInput.newExecutionInput().query(query);
+        if (hash != null) {
+            builder.extensions(Map.of(PersistedQueryDocumentProvider.PERSISTED_QUERY_EXTENSION,
+                    Map.of("version", 1, PersistedQueryDocumentProvider.SHA256_HASH, hash)));
+        }
+        return builder.build();
+    }
+}
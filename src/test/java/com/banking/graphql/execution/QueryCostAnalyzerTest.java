@@ -0,0 +1,76 @@
+package com.banking.graphql.execution;
+
+import com.banking.graphql.execution.QueryCostAnalyzer.QueryCost;
+import graphql.execution.CoercedVariables;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryCostAnalyzerTest {
+
+    private static GraphQLSchema schema;
+
+    private final QueryCostAnalyzer analyzer = new QueryCostAnalyzer(1, 20);
+
+    @BeforeAll
+    static void loadSchema() throws IOException {
+        try (InputStream in = QueryCostAnalyzerTest.class.getResourceAsStream("/graphql/schema.graphqls")) {
+            String sdl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(sdl));
+        }
+    }
+
+    @Test
+    void scalarFieldsAreFree() {
+        QueryCost cost = analyze("{ getCustomerById(id: 1) { id name email } }", Map.of());
+
+        assertThat(cost.cost()).isEqualTo(1);
+        assertThat(cost.depth()).isEqualTo(2);
+    }
+
+    @Test
+    void unpaginatedListsUseTheDefaultSize() {
+        // getAllCustomers (1) + accounts (20) + transactions (20 * 20)
+        QueryCost cost = analyze("{ getAllCustomers { accounts { transactions { id } } } }", Map.of());
+
+        assertThat(cost.cost()).isEqualTo(1 + 20 + 400);
+        assertThat(cost.depth()).isEqualTo(4);
+    }
+
+    @Test
+    void connectionsUseTheFirstArgument() {
+        // customers (1) + edges (1) + node (5) + accounts (5) + pageInfo (1); balance is a scalar
+        QueryCost cost = analyze("""
+                query Page($first: Int) {
+                    customers(first: $first) {
+                        edges { node { name accounts { balance } } }
+                        pageInfo { hasNextPage }
+                    }
+                }
+                """, Map.of("first", 5));
+
+        assertThat(cost.cost()).isEqualTo(1 + 1 + 5 + 5 + 1);
+    }
+
+    @Test
+    void introspectionIsNotCounted() {
+        QueryCost cost = analyze("{ __schema { types { fields { type { ofType { ofType { name } } } } } } }", Map.of());
+
+        assertThat(cost.cost()).isZero();
+        assertThat(cost.depth()).isZero();
+    }
+
+    private QueryCost analyze(String query, Map<String, Object> variables) {
+        return analyzer.analyze(schema, Parser.parse(query), null, CoercedVariables.of(variables));
+    }
+}
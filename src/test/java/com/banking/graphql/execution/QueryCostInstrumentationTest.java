@@ -0,0 +1,48 @@
+package com.banking.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryCostInstrumentationTest {
+
+    // getAllCustomers (1) + accounts (20) + transactions (20 * 20)
+    private static final String QUERY = "{ getAllCustomers { accounts { transactions { id } } } }";
+
+    @Test
+    void throttleAdmitsQueriesCostingMoreThanTheRefillRate() throws IOException {
+        // 10 points per second, far below the query's 421, but the bucket holds max-cost
+        GraphQL graphQL = graphQL(new QueryCostInstrumentation(1, 20, 1000, 12, 10));
+
+        assertThat(errorCodes(graphQL.execute(QUERY))).doesNotContain("THROTTLED");
+        assertThat(errorCodes(graphQL.execute(QUERY))).doesNotContain("THROTTLED");
+        // 158 points left
+        assertThat(errorCodes(graphQL.execute(QUERY))).containsExactly("THROTTLED");
+    }
+
+    private static GraphQL graphQL(QueryCostInstrumentation instrumentation) throws IOException {
+        try (InputStream in = QueryCostInstrumentationTest.class.getResourceAsStream("/graphql/schema.graphqls")) {
+            String sdl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return GraphQL.newGraphQL(UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(sdl)))
+                    .instrumentation(instrumentation)
+                    .build();
+        }
+    }
+
+    private static List<Object> errorCodes(ExecutionResult result) {
+        return result.getErrors().stream()
+                .map(GraphQLError::getExtensions)
+                .map(extensions -> extensions == null ? null : extensions.get("code"))
+                .toList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.banking.graphql.outbox;
+
+import com.banking.graphql.model.Account;
+import com.banking.graphql.model.AccountType;
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.model.OutboxEvent;
+import com.banking.graphql.repository.OutboxEventRepository;
+import com.banking.graphql.service.AccountService;
+import com.banking.graphql.service.CustomerService;
+import com.banking.graphql.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {
+        "banking.outbox.sink=memory",
+        "banking.outbox.relay.linger=0ms",
+        // Small enough for one account's events to span batches
+        "banking.outbox.relay.batch-size=2",
+        // The test drains the outbox itself
+        "banking.outbox.relay.poll-interval-ms=3600000"
+})
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @SpyBean
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Account source;
+    private Account target;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerService.createCustomer("Outbox Test",
+                "outbox." + System.nanoTime() + "@example.com", "+4444444444", "4 Outbox Street");
+        source = accountService.createAccount(customer.getId(), AccountType.CHECKING, new BigDecimal("100.00"));
+        target = accountService.createAccount(customer.getId(), AccountType.SAVINGS, BigDecimal.ZERO);
+        outboxRelay.drain();
+        outboxSink.clear();
+    }
+
+    @Test
+    void relaysEveryPostingInAccountOrder() throws Exception {
+        transactionService.deposit(source.getAccountNumber(), new BigDecimal("50.00"), "Deposit");
+        transactionService.withdraw(source.getAccountNumber(), new BigDecimal("20.00"), "Withdrawal");
+        transactionService.transfer(source.getAccountNumber(), target.getAccountNumber(),
+                new BigDecimal("30.00"), "Transfer");
+
+        assertThat(outboxRelay.drain()).isEqualTo(4);
+
+        assertThat(typesFor(source.getAccountNumber())).containsExactly("DEPOSIT", "WITHDRAWAL", "TRANSFER_OUT");
+        assertThat(typesFor(target.getAccountNumber())).containsExactly("TRANSFER_IN");
+        assertThat(sequencesFor(source.getAccountNumber())).isSorted().doesNotHaveDuplicates();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void relaysInAccountSequenceOrderWhenIdsDisagree() {
+        // As written by two nodes with their own id blocks: the source's latest event got the lowest id
+        outboxEventRepository.saveAll(List.of(
+                event(source, 3), event(target, 1), event(source, 1), event(source, 2)));
+
+        assertThat(outboxRelay.drain()).isEqualTo(4);
+
+        assertThat(sequencesFor(source.getAccountNumber())).containsExactly(1L, 2L, 3L);
+        assertThat(sequencesFor(target.getAccountNumber())).containsExactly(1L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void failedBatchStaysInTheOutboxAndIsRedelivered() throws Exception {
+        transactionService.deposit(source.getAccountNumber(), new BigDecimal("10.00"), "First");
+        transactionService.deposit(source.getAccountNumber(), new BigDecimal("20.00"), "Second");
+        doThrow(new IllegalStateException("sink unavailable")).doCallRealMethod().when(outboxSink).publish(any());
+
+        assertThatThrownBy(() -> outboxRelay.drain()).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+        assertThat(outboxSink.getEvents()).isEmpty();
+
+        assertThat(outboxRelay.drain()).isEqualTo(2);
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(typesFor(source.getAccountNumber())).containsExactly("DEPOSIT", "DEPOSIT");
+    }
+
+    private static OutboxEvent event(Account account, long sequence) {
+        return new OutboxEvent(account.getAccountNumber(), sequence, TransactionOutbox.TRANSACTION_POSTED, "{}");
+    }
+
+    private List<Long> sequencesFor(String accountNumber) {
+        return outboxSink.getEvents().stream()
+                .filter(event -> event.getAggregateId().equals(accountNumber))
+                .map(OutboxEvent::getAggregateSequence)
+                .toList();
+    }
+
+    private List<String> typesFor(String accountNumber) throws Exception {
+        List<OutboxEvent> events = outboxSink.getEvents().stream()
+                .filter(event -> event.getAggregateId().equals(accountNumber))
+                .toList();
+        assertThat(events).allMatch(event -> event.getEventType().equals(TransactionOutbox.TRANSACTION_POSTED));
+        List<String> types = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            types.add(objectMapper.readTree(event.getPayload()).get("type").asText());
+        }
+        return types;
+    }
+}
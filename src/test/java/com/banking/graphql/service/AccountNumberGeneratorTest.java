@@ -0,0 +1,44 @@
+package com.banking.graphql.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class AccountNumberGeneratorTest {
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Test
+    void numbersAcrossSeveralBlocksAreDistinctAndCarryACheckDigit() {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < 2 * AccountNumberGenerator.BLOCK_SIZE + 10; i++) {
+            accountNumbers.add(accountNumberGenerator.nextAccountNumber());
+        }
+
+        assertThat(accountNumbers).doesNotHaveDuplicates()
+                .allMatch(number -> number.matches("[1-9]\\d{9}"))
+                .allMatch(AccountNumberGenerator::hasValidCheckDigit);
+        // Handed out in order from memory, without gaps inside a node's block
+        assertThat(serial(accountNumbers.get(1))).isEqualTo(serial(accountNumbers.get(0)) + 1);
+    }
+
+    @Test
+    void checkDigitIsLuhn() {
+        assertThat(AccountNumberGenerator.checkDigit("7992739871")).isEqualTo(3);
+        assertThat(AccountNumberGenerator.hasValidCheckDigit("79927398713")).isTrue();
+        assertThat(AccountNumberGenerator.hasValidCheckDigit("79927398710")).isFalse();
+        // A single mistyped digit is always detected
+        assertThat(AccountNumberGenerator.hasValidCheckDigit("79927398813")).isFalse();
+    }
+
+    private static long serial(String accountNumber) {
+        return Long.parseLong(accountNumber.substring(0, accountNumber.length() - 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.graphql.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionIdGeneratorTest {
+
+    @Test
+    void idsAreFixedWidthAndSortInGenerationOrder() {
+        TransactionIdGenerator generator = new TransactionIdGenerator(7);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).allMatch(id -> id.matches("TXN-[0-9A-HJKMNP-TV-Z]{13}"));
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void nodeIdIsEncodedInTheLowBits() {
+        long value = new TransactionIdGenerator(1023).nextValue();
+
+        assertThat(value & TransactionIdGenerator.MAX_NODE_ID).isEqualTo(1023);
+        assertThat(TransactionIdGenerator.format(value))
+                .isNotEqualTo(TransactionIdGenerator.format(value & ~(long) TransactionIdGenerator.MAX_NODE_ID));
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameId() throws Exception {
+        TransactionIdGenerator generator = new TransactionIdGenerator(0);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertThat(ids).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void rejectsNodeIdsThatDoNotFit() {
+        assertThatThrownBy(() -> new TransactionIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransactionIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.banking.graphql.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * N+1 guard for GraphQL tests: runs a request and fails when it sends more SQL statements than its
+ * budget, listing every statement it sent.
+ *
+ * <pre>
+ * sqlBudget.atMost(3, () -&gt; graphQlTester.document(...).execute().path(...).hasValue());
+ * </pre>
+ *
+ * Only statements issued by GraphQL executions are counted, including asynchronous fetches and
+ * DataLoader batches; background jobs such as the outbox relay are left out. Requests made through
+ * {@code GraphQlTester} complete before {@code execute()} returns, so all their statements are in.
+ *
+ * {@link #exactly} pins the count instead, for queries whose statements per level are known.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlBudget {
+
+    private final SqlStatementRecorder recorder;
+
+    public void atMost(int maxStatements, Runnable request) {
+        atMost(maxStatements, () -> {
+            request.run();
+            return null;
+        });
+    }
+
+    public <T> T atMost(int maxStatements, Supplier<T> request) {
+        List<String> statements = new ArrayList<>();
+        T result = record(request, statements);
+        if (statements.size() > maxStatements) {
+            fail(message("at most " + maxStatements, statements));
+        }
+        return result;
+    }
+
+    public void exactly(int expectedStatements, Runnable request) {
+        List<String> statements = new ArrayList<>();
+        record(() -> {
+            request.run();
+            return null;
+        }, statements);
+        if (statements.size() != expectedStatements) {
+            fail(message("exactly " + expectedStatements, statements));
+        }
+    }
+
+    private <T> T record(Supplier<T> request, List<String> statements) {
+        recorder.startGraphQlRequests();
+        try {
+            return request.get();
+        } finally {
+            statements.addAll(recorder.stop());
+        }
+    }
+
+    private static String message(String expected, List<String> statements) {
+        StringBuilder message = new StringBuilder()
+                .append("Expected ").append(expected).append(" SQL statements but ")
+                .append(statements.size()).append(" were sent:");
+        for (int i = 0; i < statements.size(); i++) {
+            message.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        return message.toString();
+    }
+}
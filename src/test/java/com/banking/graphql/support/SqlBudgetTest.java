@@ -0,0 +1,79 @@
+package com.banking.graphql.support;
+
+import com.banking.graphql.model.Customer;
+import com.banking.graphql.repository.CustomerRepository;
+import com.banking.graphql.service.AccountService;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The budget has to catch a nested field that falls back to one query per parent. Customer.accounts
+ * is resolved here straight from the service, as if its DataLoader had been bypassed.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+public class SqlBudgetTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private SqlBudget sqlBudget;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void failsWhenANestedFieldQueriesPerParent() {
+        long customers = customerRepository.count();
+
+        assertThatThrownBy(() -> sqlBudget.atMost(2, () -> this.graphQlTester
+                .document("""
+                    query { getAllCustomers { name accounts { accountNumber } } }
+                    """)
+                .execute()
+                .errors().verify()))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("Expected at most 2 SQL statements but " + (1 + customers) + " were sent");
+    }
+
+    @TestConfiguration
+    static class PerParentAccounts {
+
+        private static final FieldCoordinates CUSTOMER_ACCOUNTS = FieldCoordinates.coordinates("Customer", "accounts");
+
+        // First in the chain, so the metrics instrumentation still wraps the replaced fetcher
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        SimplePerformantInstrumentation perParentAccountsInstrumentation(AccountService accountService) {
+            return new SimplePerformantInstrumentation() {
+                @Override
+                public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+                                                            InstrumentationFieldFetchParameters parameters,
+                                                            InstrumentationState state) {
+                    if (!CUSTOMER_ACCOUNTS.equals(FieldCoordinates.coordinates(
+                            parameters.getExecutionStepInfo().getObjectType(),
+                            parameters.getExecutionStepInfo().getFieldDefinition()))) {
+                        return dataFetcher;
+                    }
+                    return environment -> accountService.getAccountsByCustomerId(
+                            environment.<Customer>getSource().getId());
+                }
+            };
+        }
+    }
+}
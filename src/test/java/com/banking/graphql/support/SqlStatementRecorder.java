@@ -0,0 +1,60 @@
+package com.banking.graphql.support;
+
+import com.banking.graphql.execution.RequestMetrics;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate sends while recording is on. Registered with every test
+ * SessionFactory by {@link TestPersistenceConfig}.
+ *
+ * {@link #start()} records only the statements sent from the calling thread, and
+ * {@link #startGraphQlRequests()} only those attributed to a GraphQL request (see
+ * {@link RequestMetrics}), whatever thread sends them. Either way scheduled jobs such as the outbox
+ * relay are left out.
+ */
+@Component
+public class SqlStatementRecorder implements StatementInspector {
+
+    private final List<String> statements = new ArrayList<>();
+    private volatile boolean recording;
+    private volatile boolean graphQlRequestsOnly;
+    private volatile Thread recordingThread;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording && (graphQlRequestsOnly ? RequestMetrics.current() != null : Thread.currentThread() == recordingThread)) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public void start() {
+        start(false);
+    }
+
+    public void startGraphQlRequests() {
+        start(true);
+    }
+
+    private void start(boolean graphQlRequestsOnly) {
+        synchronized (statements) {
+            statements.clear();
+        }
+        this.graphQlRequestsOnly = graphQlRequestsOnly;
+        this.recordingThread = Thread.currentThread();
+        recording = true;
+    }
+
+    public List<String> stop() {
+        recording = false;
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+}
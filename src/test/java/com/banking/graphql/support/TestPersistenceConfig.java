@@ -0,0 +1,62 @@
+package com.banking.graphql.support;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.UUID;
+
+/**
+ * Picked up by component scanning in every {@code @SpringBootTest} context.
+ *
+ * Test classes with different configurations get separate application contexts in one JVM. Each
+ * context gets its own in-memory database and its own second-level cache manager, so one context's
+ * create-drop schema or cached entities can never leak into another. It also registers
+ * {@link SqlStatementRecorder} and turns on Hibernate statistics.
+ */
+@Configuration
+public class TestPersistenceConfig {
+
+    @Bean
+    public static BeanPostProcessor uniqueTestDatabase() {
+        String url = "jdbc:h2:mem:test-" + UUID.randomUUID();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSourceProperties properties) {
+                    properties.setUrl(url);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer testHibernateProperties(SqlStatementRecorder sqlStatementRecorder) {
+        return properties -> {
+            properties.put("hibernate.session_factory.statement_inspector", sqlStatementRecorder);
+            properties.put("hibernate.generate_statistics", "true");
+            properties.put("hibernate.javax.cache.cache_manager", contextCacheManager());
+        };
+    }
+
+    private static CacheManager contextCacheManager() {
+        URL config = TestPersistenceConfig.class.getClassLoader().getResource("ehcache.xml");
+        // JCache hands out one CacheManager per (URI, class loader); a fresh loader gives a fresh manager
+        ClassLoader contextLoader = new URLClassLoader(new URL[0], TestPersistenceConfig.class.getClassLoader());
+        try {
+            return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                    .getCacheManager(config.toURI(), contextLoader);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}